@@ -1,5 +1,6 @@
 import { useState, useEffect, useCallback } from "react";
 import api from "@/lib/api";
+import { useLiveUpdates } from "@/hooks/useLiveUpdates";
 
 interface RecentStudent {
     id: number;
@@ -16,6 +17,7 @@ export interface DashboardStatsData {
     maleCount: number;
     femaleCount: number;
     newAdmissionsThisYear: number;
+    pendingApplications?: number;
     streamCounts: Record<string, number>;
     recentStudents: RecentStudent[];
 }
@@ -36,8 +38,9 @@ export function useDashboard() {
     const [isLoading, setIsLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
 
-    const fetchStats = useCallback(async () => {
-        setIsLoading(true);
+    // `silent` refetches in the background, without the loading skeletons
+    const fetchStats = useCallback(async (silent = false) => {
+        if (!silent) setIsLoading(true);
         setError(null);
         try {
             const res = await api.get<DashboardStatsData>("/dashboard/stats");
@@ -45,7 +48,7 @@ export function useDashboard() {
         } catch {
             setError("Failed to load dashboard data");
         } finally {
-            setIsLoading(false);
+            if (!silent) setIsLoading(false);
         }
     }, []);
 
@@ -53,5 +56,15 @@ export function useDashboard() {
         fetchStats();
     }, [fetchStats]);
 
-    return { stats, isLoading, error, refresh: fetchStats };
+    // Counters are kept current from the live stream; the recent-students list is
+    // only refetched when a student enters or leaves ACTIVE, or changes were missed
+    useLiveUpdates({
+        onCounters: (changed) => setStats((prev) => ({ ...prev, ...changed })),
+        onStatus: (changes) => {
+            if (changes.some((c) => c.from === "ACTIVE" || c.to === "ACTIVE")) fetchStats(true);
+        },
+        onResync: () => fetchStats(true),
+    });
+
+    return { stats, isLoading, error, refresh: () => fetchStats() };
 }
@@ -0,0 +1,60 @@
+import { useEffect, useRef } from "react";
+import api from "@/lib/api";
+import type { Student } from "@/types";
+
+/** A student that arrived as PENDING_APPROVAL — the columns the applications list shows. */
+export type LiveApplicant = Pick<Student,
+    "id" | "fullName" | "nicNumber" | "medium" | "alStream" | "email" | "contactNumber" |
+    "studentType" | "registrationStatus">;
+
+/** A registration status change; `to` is null when the student was deleted. */
+export interface LiveStatusChange {
+    id: number;
+    from: string | null;
+    to: string | null;
+    rejectionReason?: string;
+}
+
+export interface LiveHandlers {
+    /** Only the counters whose value changed (all of them on connect). */
+    onCounters?: (counters: Record<string, unknown>) => void;
+    onApplicants?: (applicants: LiveApplicant[]) => void;
+    onStatus?: (changes: LiveStatusChange[]) => void;
+    /** Changes were missed (a burst, or a dropped connection); refetch everything. */
+    onResync?: () => void;
+}
+
+/**
+ * Subscribes to GET /api/live (server-sent events) while the calling component
+ * is mounted and `enabled` is true. The browser reconnects on its own after a
+ * drop; as events sent in between are lost, every reconnect is reported as a
+ * resync.
+ */
+export function useLiveUpdates(handlers: LiveHandlers, enabled = true) {
+    // Latest handlers, so the stream is opened once rather than on every render
+    const ref = useRef(handlers);
+    useEffect(() => {
+        ref.current = handlers;
+    });
+
+    useEffect(() => {
+        if (!enabled || typeof EventSource === "undefined") return;
+        const source = new EventSource(`${api.defaults.baseURL}/live`, { withCredentials: true });
+        let connectedBefore = false;
+
+        const on = <T>(name: string, handle: (data: T) => void) =>
+            source.addEventListener(name, (e) => handle(JSON.parse((e as MessageEvent).data) as T));
+
+        on<Record<string, unknown>>("counters", (c) => ref.current.onCounters?.(c));
+        on<LiveApplicant[]>("applicants", (a) => ref.current.onApplicants?.(a));
+        on<LiveStatusChange[]>("status", (c) => ref.current.onStatus?.(c));
+        on<unknown>("resync", () => ref.current.onResync?.());
+
+        source.onopen = () => {
+            if (connectedBefore) ref.current.onResync?.();
+            connectedBefore = true;
+        };
+
+        return () => source.close();
+    }, [enabled]);
+}
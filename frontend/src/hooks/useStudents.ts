@@ -1,19 +1,26 @@
-import { useState, useEffect, useCallback } from "react";
+import { useState, useEffect, useCallback, useRef } from "react";
 import api from "@/lib/api";
-import type { Student, StudentFormData } from "@/types";
+import { useLiveUpdates, type LiveStatusChange } from "@/hooks/useLiveUpdates";
+import type { Student, StudentFormData, RegistrationStatus } from "@/types";
 
 interface UseStudentsOptions {
     registrationStatus?: string;
     studentType?: string;
+    /** Keep the list current from the live update stream instead of only loading it once. */
+    live?: boolean;
 }
 
+// More unknown students than this in one status event: refetch the list instead of each one
+const MAX_LIVE_LOOKUPS = 20;
+
 export function useStudents(options?: UseStudentsOptions) {
     const [students, setStudents] = useState<Student[]>([]);
     const [isLoading, setIsLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
 
-    const fetchStudents = useCallback(async () => {
-        setIsLoading(true);
+    // `silent` refetches in the background, without the loading state
+    const fetchStudents = useCallback(async (silent = false) => {
+        if (!silent) setIsLoading(true);
         setError(null);
         try {
             const params = new URLSearchParams();
@@ -25,7 +32,7 @@ export function useStudents(options?: UseStudentsOptions) {
         } catch {
             setError("Failed to load students");
         } finally {
-            setIsLoading(false);
+            if (!silent) setIsLoading(false);
         }
     }, []); // eslint-disable-line react-hooks/exhaustive-deps
 
@@ -33,6 +40,60 @@ export function useStudents(options?: UseStudentsOptions) {
         fetchStudents();
     }, [fetchStudents]);
 
+    const studentsRef = useRef(students);
+    useEffect(() => {
+        studentsRef.current = students;
+    }, [students]);
+
+    const matches = (s: Pick<Student, "registrationStatus" | "studentType">) =>
+        (!options?.registrationStatus || s.registrationStatus === options.registrationStatus) &&
+        (!options?.studentType || s.studentType === options.studentType);
+
+    const applyStatus = (prev: Student[], changes: LiveStatusChange[]) => {
+        const byId = new Map(changes.map((c) => [c.id, c]));
+        return prev.flatMap((s) => {
+            const c = byId.get(s.id);
+            if (!c) return [s];
+            if (c.to === null) return [];
+            const updated: Student = {
+                ...s,
+                registrationStatus: c.to as RegistrationStatus,
+                rejectionReason: c.to === "REJECTED" ? c.rejectionReason : s.rejectionReason,
+            };
+            return matches(updated) ? [updated] : [];
+        });
+    };
+
+    useLiveUpdates({
+        onApplicants: (applicants) => {
+            setStudents((prev) => {
+                const known = new Set(prev.map((s) => s.id));
+                const added = applicants.filter((a) => !known.has(a.id) && matches(a)) as Student[];
+                return added.length > 0 ? [...prev, ...added] : prev;
+            });
+        },
+        onStatus: (changes) => {
+            const known = new Set(studentsRef.current.map((s) => s.id));
+            setStudents((prev) => applyStatus(prev, changes));
+            // Students not in the list may now belong in it; only the server has their row
+            const unknown = changes.filter((c) => c.to !== null && !known.has(c.id) &&
+                (!options?.registrationStatus || c.to === options.registrationStatus));
+            if (unknown.length > MAX_LIVE_LOOKUPS) {
+                fetchStudents(true);
+                return;
+            }
+            for (const c of unknown) {
+                api.get<Student>(`/students/${c.id}`)
+                    .then((res) => {
+                        if (!matches(res.data)) return;
+                        setStudents((prev) => prev.some((s) => s.id === res.data.id) ? prev : [...prev, res.data]);
+                    })
+                    .catch(() => {});
+            }
+        },
+        onResync: () => fetchStudents(true),
+    }, options?.live === true);
+
     const createStudent = async (data: StudentFormData) => {
         const res = await api.post<Student>("/students", data);
         setStudents((prev) => [...prev, res.data]);
@@ -81,7 +142,7 @@ export function useStudents(options?: UseStudentsOptions) {
         students,
         isLoading,
         error,
-        refresh: fetchStudents,
+        refresh: () => fetchStudents(),
         createStudent,
         updateStudent,
         deleteStudent,
@@ -57,6 +57,7 @@ type TabValue = "PENDING_APPROVAL" | "REJECTED";
 export default function ApplicationsPage() {
     const { students, isLoading, approveStudent, rejectStudent, requeueStudent, deleteStudent } = useStudents({
         studentType: "EXTERNAL",
+        live: true,
     });
 
     const [activeTab, setActiveTab] = useState<TabValue>("PENDING_APPROVAL");
@@ -427,7 +428,7 @@ export default function ApplicationsPage() {
                 open={scheduleOpen}
                 onOpenChange={setScheduleOpen}
                 students={students}
-                onScheduled={() => {/* students list auto-refreshes via hook */}}
+                onScheduled={() => {/* the live stream updates the scheduled students' status */}}
             />
         </PageContainer>
     );
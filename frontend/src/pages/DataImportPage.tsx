@@ -24,8 +24,20 @@ interface ImportResult {
     successCount: number;
     errorCount: number;
     errors: string[];
+    alreadyImported?: boolean;
 }
 
+interface ImportJob {
+    jobId: string;
+    status: "QUEUED" | "RUNNING" | "COMPLETED" | "ALREADY_IMPORTED" | "FAILED" | "CANCELLED";
+    rowsProcessed: number;
+    rowsPerSecond: number;
+    errorSample: string[];
+    result: ImportResult | null;
+}
+
+const IMPORT_POLL_MS = 1000;
+
 type Step = "upload" | "preview" | "importing" | "result";
 
 const CSV_TEMPLATE_HEADERS = [
@@ -103,7 +115,8 @@ export default function DataImportPage() {
         [handleFile]
     );
 
-    const handleImport = async () => {
+    // restart: import a file the server has already imported completely once more, from its first row
+    const handleImport = async (restart = false) => {
         if (!file) return;
         setIsUploading(true);
         setStep("importing");
@@ -112,12 +125,25 @@ export default function DataImportPage() {
         formData.append("file", file);
 
         try {
-            const res = await api.post("/students/import", formData, {
+            const res = await api.post<ImportJob>("/students/import", formData, {
                 headers: { "Content-Type": "multipart/form-data" },
+                params: restart ? { restart: true } : undefined,
             });
-            setResult(res.data);
+            // The server runs the import in the background — poll until the job settles
+            let job = res.data;
+            while (job.status === "QUEUED" || job.status === "RUNNING") {
+                await new Promise((resolve) => setTimeout(resolve, IMPORT_POLL_MS));
+                job = (await api.get<ImportJob>(`/students/import/${job.jobId}`)).data;
+            }
+            setResult(job.result ?? { successCount: 0, errorCount: job.errorSample.length, errors: job.errorSample });
             setStep("result");
-            toast.success("Import completed");
+            if (job.status === "ALREADY_IMPORTED") {
+                toast.info("This file was already imported — nothing was written");
+            } else if (job.status === "COMPLETED") {
+                toast.success("Import completed");
+            } else {
+                toast.warning(`Import ${job.status.toLowerCase()}`);
+            }
         } catch {
             // Fallback: try inserting rows individually
             let successCount = 0;
@@ -275,7 +301,7 @@ export default function DataImportPage() {
                         <Button variant="outline" onClick={reset}>
                             Cancel
                         </Button>
-                        <Button onClick={handleImport}>
+                        <Button onClick={() => handleImport()}>
                             <Upload className="mr-2 h-4 w-4" />
                             Import {parsedData.length} Students
                         </Button>
@@ -302,7 +328,15 @@ export default function DataImportPage() {
                         ) : (
                             <AlertCircle className="h-16 w-16 text-amber-500" />
                         )}
-                        <h2 className="text-2xl font-bold">Import Complete</h2>
+                        <h2 className="text-2xl font-bold">
+                            {result.alreadyImported ? "Already Imported" : "Import Complete"}
+                        </h2>
+                        {result.alreadyImported && (
+                            <p className="text-sm text-muted-foreground text-center max-w-md">
+                                This exact file was imported before, so no rows were written. Import it
+                                again to re-apply every row, e.g. after students were edited or deleted.
+                            </p>
+                        )}
                     </div>
 
                     <div className="grid gap-4 sm:grid-cols-2 max-w-md mx-auto">
@@ -330,7 +364,12 @@ export default function DataImportPage() {
                         </div>
                     )}
 
-                    <div className="flex justify-center">
+                    <div className="flex justify-center gap-3">
+                        {result.alreadyImported && (
+                            <Button variant="outline" onClick={() => handleImport(true)}>
+                                Import Again
+                            </Button>
+                        )}
                         <Button onClick={reset}>
                             Import Another File
                         </Button>
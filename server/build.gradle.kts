@@ -13,10 +13,30 @@ dependencies {
     implementation("com.opencsv:opencsv:5.9")
     implementation("org.apache.poi:poi-ooxml:5.2.5")
     implementation("com.itextpdf:itext-core:9.1.0")
+    implementation("org.flywaydb:flyway-core")
+    implementation("org.flywaydb:flyway-mysql")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("com.github.ben-manes.caffeine:jcache")
     runtimeOnly("com.mysql:mysql-connector-j")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.boot:spring-boot-testcontainers")
+    testImplementation("org.testcontainers:mysql")
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+    // XlsxRowReaderTest builds a 200k-row shared-strings workbook in memory first
+    maxHeapSize = "1g"
+}
+
+// Timing tests (@Tag("benchmark")), kept out of the regular build: ./gradlew benchmark
+tasks.register<Test>("benchmark") {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging.showStandardStreams = true
 }
@@ -0,0 +1,31 @@
+package com.sims.server.controller;
+
+import com.sims.server.service.EntityCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    /** Per-region second-level cache statistics since startup or the last reset. */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Map<String, Object>> getStats() {
+        return entityCacheService.regionStatistics();
+    }
+
+    @DeleteMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> resetStats() {
+        entityCacheService.resetStatistics();
+        return ResponseEntity.noContent().build();
+    }
+}
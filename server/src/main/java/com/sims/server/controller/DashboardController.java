@@ -1,8 +1,9 @@
 package com.sims.server.controller;
 
-import com.sims.server.model.Student;
-import com.sims.server.repository.OLResultRepository;
+import com.sims.server.dto.StudentSummaryView;
 import com.sims.server.repository.StudentRepository;
+import com.sims.server.service.StudentStats;
+import com.sims.server.service.StudentStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,25 +20,11 @@ public class DashboardController {
     private StudentRepository studentRepository;
 
     @Autowired
-    private OLResultRepository olResultRepository;
+    private StudentStatsService studentStatsService;
 
     @GetMapping("/stats")
     public Map<String, Object> getStats() {
-        Map<String, Object> stats = new LinkedHashMap<>();
-        stats.put("totalStudents", studentRepository.countByRegistrationStatus("ACTIVE"));
-        stats.put("grade12Count", studentRepository.countByGrade("12"));
-        stats.put("grade13Count", studentRepository.countByGrade("13"));
-        stats.put("maleCount", studentRepository.countByGender("MALE"));
-        stats.put("femaleCount", studentRepository.countByGender("FEMALE"));
-        stats.put("newAdmissionsThisYear", studentRepository.countByGrade("12"));
-        stats.put("pendingApplications", studentRepository.countByRegistrationStatus("PENDING_APPROVAL"));
-
-        // Stream counts as a flat map { "SCIENCE": 80, "COMMERCE": 60, ... }
-        Map<String, Long> streamCounts = new LinkedHashMap<>();
-        for (Object[] row : studentRepository.countByStreamGroup()) {
-            if (row[0] != null) streamCounts.put(row[0].toString(), (Long) row[1]);
-        }
-        stats.put("streamCounts", streamCounts);
+        Map<String, Object> stats = studentStatsService.current().dashboardCounters();
 
         // 5 most recently added students
         List<Map<String, Object>> recent = studentRepository.findTop5ByRegistrationStatusOrderByIdDesc("ACTIVE")
@@ -51,25 +38,26 @@ public class DashboardController {
 
     @GetMapping("/demographics")
     public Map<String, Object> getDemographics() {
+        StudentStats counts = studentStatsService.current();
         Map<String, Object> response = new HashMap<>();
-        response.put("streamDistribution", toDistribution(studentRepository.countByStreamGroup(), "stream"));
-        response.put("genderDistribution", toDistribution(studentRepository.countByGenderGroup(), "gender"));
-        response.put("gradeDistribution", toDistribution(studentRepository.countByGradeGroup(), "grade"));
+        response.put("streamDistribution", toDistribution(counts.activeByStream(), "stream"));
+        response.put("genderDistribution", toDistribution(counts.activeByGender(), "gender"));
+        response.put("gradeDistribution", toDistribution(counts.activeByGrade(), "grade"));
         return response;
     }
 
-    private List<Map<String, Object>> toDistribution(List<Object[]> data, String keyName) {
+    private List<Map<String, Object>> toDistribution(Map<String, Long> data, String keyName) {
         List<Map<String, Object>> result = new ArrayList<>();
-        for (Object[] row : data) {
+        for (Map.Entry<String, Long> e : data.entrySet()) {
             Map<String, Object> item = new LinkedHashMap<>();
-            item.put(keyName, row[0]);
-            item.put("count", row[1]);
+            item.put(keyName, e.getKey());
+            item.put("count", e.getValue());
             result.add(item);
         }
         return result;
     }
 
-    private Map<String, Object> toRecentEntry(Student s) {
+    private Map<String, Object> toRecentEntry(StudentSummaryView s) {
         Map<String, Object> m = new LinkedHashMap<>();
         m.put("id", s.getId());
         m.put("admissionNumber", s.getAdmissionNumber());
@@ -81,15 +69,8 @@ public class DashboardController {
 
     @GetMapping("/ol-summary")
     public List<Map<String, Object>> getOlSummary() {
-        List<Object[]> rows = olResultRepository.countBySubjectAndGrade();
-        // Build { subject -> { grade -> count } }
-        Map<String, Map<String, Long>> bySubject = new LinkedHashMap<>();
-        for (Object[] row : rows) {
-            String subject = (String) row[0];
-            String grade   = (String) row[1];
-            Long   count   = (Long)   row[2];
-            bySubject.computeIfAbsent(subject, k -> new LinkedHashMap<>()).put(grade, count);
-        }
+        // { subject -> { grade -> count } }
+        Map<String, Map<String, Long>> bySubject = studentStatsService.olSubjectGradeCounts();
         List<Map<String, Object>> result = new ArrayList<>();
         for (Map.Entry<String, Map<String, Long>> entry : bySubject.entrySet()) {
             Map<String, Object> item = new LinkedHashMap<>();
@@ -0,0 +1,31 @@
+package com.sims.server.controller;
+
+import com.sims.server.service.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/live")
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    /**
+     * Server-sent events for the dashboard and applications pages: an initial
+     * {@code counters} event, then {@code counters} / {@code applicants} /
+     * {@code status} deltas (or {@code resync}) as students change. See
+     * {@link LiveUpdateService} for the payloads. Browsers reconnect on their own
+     * when the stream times out.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() throws IOException {
+        return liveUpdateService.subscribe();
+    }
+}
@@ -3,6 +3,7 @@ package com.sims.server.controller;
 import com.sims.server.model.OLResult;
 import com.sims.server.repository.OLResultRepository;
 import com.sims.server.repository.StudentRepository;
+import com.sims.server.service.ApplicantScoreService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +21,9 @@ public class OLResultController {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private ApplicantScoreService applicantScoreService;
+
     @GetMapping
     public ResponseEntity<List<OLResult>> getResults(@PathVariable Long studentId) {
         if (!studentRepository.existsById(studentId)) return ResponseEntity.notFound().build();
@@ -30,7 +34,9 @@ public class OLResultController {
     public ResponseEntity<?> addResult(@PathVariable Long studentId, @RequestBody OLResult result) {
         return studentRepository.findById(studentId).map(student -> {
             result.setStudent(student);
-            return ResponseEntity.ok(olResultRepository.save(result));
+            OLResult saved = olResultRepository.save(result);
+            applicantScoreService.recomputeStudents(List.of(studentId));
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -44,7 +50,9 @@ public class OLResultController {
             result.setSubject(details.getSubject());
             result.setGrade(details.getGrade());
             result.setExamYear(details.getExamYear());
-            return ResponseEntity.ok(olResultRepository.save(result));
+            OLResult saved = olResultRepository.save(result);
+            applicantScoreService.recomputeStudents(List.of(studentId));
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -58,6 +66,7 @@ public class OLResultController {
             if (!result.getStudent().getId().equals(studentId))
                 return ResponseEntity.status(403).body(Map.of("error", "Result does not belong to this student"));
             olResultRepository.delete(result);
+            applicantScoreService.recomputeStudents(List.of(studentId));
             return ResponseEntity.ok().build();
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -0,0 +1,32 @@
+package com.sims.server.controller;
+
+import com.sims.server.dto.ImportResultDTO;
+import com.sims.server.service.AuditService;
+import com.sims.server.service.OLResultImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ol-results")
+public class OLResultImportController {
+
+    @Autowired private OLResultImportService olResultImportService;
+    @Autowired private AuditService auditService;
+
+    /** Bulk O/L results from CSV / Excel, keyed by NIC or admission number. */
+    @PostMapping("/import")
+    public ResponseEntity<ImportResultDTO> importResults(@RequestParam("file") MultipartFile file) {
+        try {
+            ImportResultDTO result = olResultImportService.importResults(file);
+            auditService.log("IMPORT_OL_RESULTS", "Imported " + result.getSuccessCount()
+                    + " O/L results (" + result.getErrorCount() + " errors)");
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ImportResultDTO(0, 1, List.of(e.getMessage())));
+        }
+    }
+}
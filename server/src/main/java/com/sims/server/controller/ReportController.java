@@ -1,13 +1,21 @@
 package com.sims.server.controller;
 
-import com.sims.server.repository.StudentRepository;
+import com.sims.server.service.AdmissionRollupService;
+import com.sims.server.service.AdmissionRollupService.Event;
+import com.sims.server.service.AdmissionRollupService.Granularity;
+import com.sims.server.service.StudentStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,29 +24,64 @@ import java.util.Map;
 public class ReportController {
 
     @Autowired
-    private StudentRepository studentRepository;
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private AdmissionRollupService admissionRollupService;
 
     @GetMapping("/stream-summary")
     public List<Map<String, Object>> getStreamSummary() {
-        return formatDistribution(studentRepository.countByStreamGroup(), "stream");
+        return formatDistribution(studentStatsService.current().activeByStream(), "stream");
     }
 
+    /**
+     * Admission trends from the rollup table: created / approved / rejected / requeued
+     * counts per {@code period} (DAY, MONTH or YEAR) between {@code from} and {@code to}
+     * (default: the last 12 months), optionally for one event, stream or student type.
+     * {@code totals} sums each event over the whole range.
+     */
     @GetMapping("/admission-stats")
-    public Map<String, Object> getAdmissionStats() {
-        // Placeholder for advanced admission stats (e.g., monthly/yearly trends)
-        // Currently returning total count as a baseline
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalAdmissions", studentRepository.count());
-        // Future: Add year-over-year growth if admission date is available
-        return stats;
+    public ResponseEntity<?> getAdmissionStats(
+            @RequestParam(defaultValue = "MONTH") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String event,
+            @RequestParam(required = false) String alStream,
+            @RequestParam(required = false) String studentType) {
+        Granularity granularity;
+        Event eventFilter;
+        try {
+            granularity = Granularity.valueOf(period.toUpperCase());
+            eventFilter = event != null ? Event.valueOf(event.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown period or event"));
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(12);
+
+        List<Map<String, Object>> series = admissionRollupService.series(
+                granularity, start, end, eventFilter, alStream, studentType);
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (Map<String, Object> row : series) {
+            totals.merge((String) row.get("event"), (Long) row.get("count"), Long::sum);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalAdmissions", studentStatsService.current().total());
+        stats.put("period", granularity.name());
+        stats.put("from", start);
+        stats.put("to", end);
+        stats.put("totals", totals);
+        stats.put("series", series);
+        return ResponseEntity.ok(stats);
     }
 
-    private List<Map<String, Object>> formatDistribution(List<Object[]> data, String keyName) {
+    private List<Map<String, Object>> formatDistribution(Map<String, Long> data, String keyName) {
         List<Map<String, Object>> result = new ArrayList<>();
-        for (Object[] row : data) {
+        for (Map.Entry<String, Long> e : data.entrySet()) {
             Map<String, Object> item = new HashMap<>();
-            item.put(keyName, row[0]);
-            item.put("count", row[1]);
+            item.put(keyName, e.getKey());
+            item.put("count", e.getValue());
             result.add(item);
         }
         return result;
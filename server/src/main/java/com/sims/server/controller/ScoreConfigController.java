@@ -1,19 +1,16 @@
 package com.sims.server.controller;
 
-import com.sims.server.model.OLResult;
-import com.sims.server.model.Student;
 import com.sims.server.model.StreamScoreConfig;
 import com.sims.server.dto.RankedApplicantDTO;
-import com.sims.server.repository.OLResultRepository;
 import com.sims.server.repository.StreamScoreConfigRepository;
-import com.sims.server.repository.StudentRepository;
-import com.sims.server.service.ScoreService;
+import com.sims.server.service.ApplicantRankingService;
+import com.sims.server.service.ApplicantScoreService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
@@ -21,9 +18,8 @@ import java.util.stream.Collectors;
 public class ScoreConfigController {
 
     @Autowired private StreamScoreConfigRepository scoreConfigRepository;
-    @Autowired private StudentRepository studentRepository;
-    @Autowired private OLResultRepository olResultRepository;
-    @Autowired private ScoreService scoreService;
+    @Autowired private ApplicantRankingService applicantRankingService;
+    @Autowired private ApplicantScoreService applicantScoreService;
 
     @GetMapping("/score-config/{stream}")
     public List<StreamScoreConfig> getConfig(@PathVariable String stream) {
@@ -44,41 +40,40 @@ public class ScoreConfigController {
             cfg.setWeight(((Number) c.get("weight")).doubleValue());
             saved.add(scoreConfigRepository.save(cfg));
         }
+        applicantScoreService.recomputeStreamAsync(streamUpper);
         return saved;
     }
 
+    /**
+     * Without further parameters this returns the stream's whole ranking, as before.
+     * {@code limit} / {@code offset} page through it (an offset needs a limit), {@code minScore}
+     * keeps only applicants scoring at least that much, and {@code aroundStudent} returns that
+     * student with {@code window} applicants either side. Ranks are always positions in the
+     * whole ranking.
+     */
     @GetMapping("/applications/ranked")
-    public List<RankedApplicantDTO> getRanked(@RequestParam String stream) {
+    public ResponseEntity<?> getRanked(@RequestParam String stream,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestParam(required = false) Integer offset,
+                                       @RequestParam(required = false) Double minScore,
+                                       @RequestParam(required = false) Long aroundStudent,
+                                       @RequestParam(defaultValue = "10") int window) {
         String streamUpper = stream.toUpperCase();
-        List<Student> applicants = studentRepository.findAll().stream()
-                .filter(s -> "EXTERNAL".equals(s.getStudentType()))
-                .filter(s -> streamUpper.equals(s.getAlStream()))
-                .collect(Collectors.toList());
-
-        List<RankedApplicantDTO> ranked = new ArrayList<>();
-        for (Student s : applicants) {
-            RankedApplicantDTO dto = new RankedApplicantDTO();
-            dto.setStudentId(s.getId());
-            dto.setFullName(s.getFullName());
-            dto.setNicNumber(s.getNicNumber());
-            dto.setEmail(s.getEmail());
-            dto.setAlStream(s.getAlStream());
-            dto.setRegistrationStatus(s.getRegistrationStatus());
-
-            List<OLResult> results = olResultRepository.findByStudentId(s.getId());
-            Map<String, String> grades = new LinkedHashMap<>();
-            for (OLResult r : results) {
-                grades.put(r.getSubject().toUpperCase(), r.getGrade().toUpperCase());
+        try {
+            if (aroundStudent != null) {
+                if (limit != null || offset != null || minScore != null)
+                    throw new IllegalArgumentException("aroundStudent cannot be combined with limit, offset or minScore");
+                List<RankedApplicantDTO> around = applicantRankingService.around(streamUpper, aroundStudent, window);
+                if (around == null) return ResponseEntity.status(404)
+                        .body(Map.of("error", "Student " + aroundStudent + " is not ranked in " + streamUpper));
+                return ResponseEntity.ok(around);
             }
-            dto.setSubjectGrades(grades);
-            dto.setTotalScore(scoreService.computeScore(s.getId(), streamUpper));
-            ranked.add(dto);
-        }
-
-        ranked.sort((a, b) -> Double.compare(b.getTotalScore(), a.getTotalScore()));
-        for (int i = 0; i < ranked.size(); i++) {
-            ranked.get(i).setRank(i + 1);
+            if (limit == null && offset == null && minScore == null) {
+                return ResponseEntity.ok(applicantRankingService.rank(streamUpper));
+            }
+            return ResponseEntity.ok(applicantRankingService.page(streamUpper, minScore, offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return ranked;
     }
 }
@@ -1,22 +1,30 @@
 package com.sims.server.controller;
 
+import com.sims.server.dto.ImportJobDTO;
 import com.sims.server.dto.ImportResultDTO;
+import com.sims.server.dto.StudentListItemDTO;
+import com.sims.server.dto.StudentMatchDTO;
 import com.sims.server.model.Student;
 import com.sims.server.repository.StudentRepository;
 import com.sims.server.service.AuditService;
-import com.sims.server.service.PdfReportService;
+import com.sims.server.service.ImportJobService;
+import com.sims.server.service.ReportBundleService;
+import com.sims.server.service.ReportCacheService;
 import com.sims.server.service.StudentService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/students")
@@ -24,21 +32,55 @@ public class StudentController {
 
     @Autowired private StudentService studentService;
     @Autowired private StudentRepository studentRepository;
-    @Autowired private PdfReportService pdfReportService;
     @Autowired private AuditService auditService;
+    @Autowired private ImportJobService importJobService;
+    @Autowired private ReportCacheService reportCacheService;
+    @Autowired private ReportBundleService reportBundleService;
 
+    /**
+     * Without {@code limit}, {@code cursor} or {@code sort} this returns every matching
+     * student as an array, as before. With any of them it returns one keyset page
+     * ({@link com.sims.server.dto.StudentPageDTO}); follow {@code nextCursor} for the next.
+     */
     @GetMapping
-    public List<Student> getAllStudents(
+    public ResponseEntity<?> getAllStudents(
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String grade,
             @RequestParam(required = false) String alStream,
             @RequestParam(required = false) String registrationStatus,
-            @RequestParam(required = false) String studentType) {
-        return studentService.getAllStudents(q, grade, alStream, registrationStatus, studentType);
+            @RequestParam(required = false) String studentType,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit == null && cursor == null && sort == null) {
+            return ResponseEntity.ok(studentService.getAllStudents(q, grade, alStream, registrationStatus, studentType));
+        }
+        try {
+            return ResponseEntity.ok(studentService.getStudentPage(q, grade, alStream, registrationStatus,
+                    studentType, sort, direction, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Fuzzy name search: matches full name and parent name by sound and small
+     * spelling differences, ranked best first. Accepts the same filters as the list.
+     */
+    @GetMapping("/search")
+    public List<StudentMatchDTO> fuzzySearchStudents(
+            @RequestParam String q,
+            @RequestParam(required = false) String grade,
+            @RequestParam(required = false) String alStream,
+            @RequestParam(required = false) String registrationStatus,
+            @RequestParam(required = false) String studentType,
+            @RequestParam(required = false) Integer limit) {
+        return studentService.fuzzySearchStudents(q, grade, alStream, registrationStatus, studentType, limit);
     }
 
     @GetMapping("/pending")
-    public List<Student> getPendingApplications() {
+    public List<StudentListItemDTO> getPendingApplications() {
         return studentService.getAllStudents(null, null, null, "PENDING_APPROVAL", "EXTERNAL");
     }
 
@@ -140,30 +182,47 @@ public class StudentController {
     @PostMapping("/{id}/requeue")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> requeueStudent(@PathVariable Long id) {
-        return studentRepository.findById(id)
-                .map(student -> {
-                    student.setRegistrationStatus("PENDING_APPROVAL");
-                    student.setRejectionReason(null);
-                    Student saved = studentRepository.save(student);
-                    auditService.log("REQUEUE_EXTERNAL_STUDENT",
-                            "Re-queued: " + saved.getFullName());
-                    return ResponseEntity.ok(saved);
-                })
-                .orElse(ResponseEntity.notFound().build());
+        if (!studentRepository.existsById(id)) return ResponseEntity.notFound().build();
+        Student saved = studentService.requeueStudent(id);
+        auditService.log("REQUEUE_EXTERNAL_STUDENT", "Re-queued: " + saved.getFullName());
+        return ResponseEntity.ok(saved);
     }
 
+    /**
+     * Spools the upload and queues a background import; poll GET /import/{jobId} for progress.
+     * {@code mode=upsert} updates students whose admission number already exists instead of
+     * reporting them as duplicates. A file already imported finishes as ALREADY_IMPORTED
+     * without writing anything; {@code restart=true} imports it again from the first row.
+     */
     @PostMapping("/import")
-    public ResponseEntity<ImportResultDTO> importStudents(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> importStudents(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(defaultValue = "insert") String mode,
+                                            @RequestParam(defaultValue = "false") boolean restart) {
         try {
-            ImportResultDTO result = studentService.importStudents(file);
-            auditService.log("IMPORT_STUDENTS", "Imported " + result.getSuccessCount()
-                    + " students (" + result.getErrorCount() + " errors)");
-            return ResponseEntity.ok(result);
+            boolean upsert = "upsert".equalsIgnoreCase(mode);
+            return ResponseEntity.accepted().body(importJobService.submit(file, upsert, restart));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Too many imports in progress — try again shortly"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ImportResultDTO(0, 1, List.of(e.getMessage())));
         }
     }
 
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        return importJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> cancelImportJob(@PathVariable String jobId) {
+        return importJobService.cancel(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/promote")
     public ResponseEntity<?> promoteStudents(@RequestBody List<Long> studentIds) {
         Object result = studentService.promoteStudents(studentIds);
@@ -171,29 +230,56 @@ public class StudentController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Student exports are served from the report cache: repeated downloads of the
+     * same filters are answered from disk (or with 304) until a student changes, and
+     * a first download streams while it renders.
+     */
     @GetMapping("/export")
-    public ResponseEntity<InputStreamResource> exportStudents() {
-        List<Student> students = studentRepository.findAll();
-        java.io.ByteArrayInputStream in = studentService.exportStudents(students);
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "attachment; filename=students.csv");
-        return ResponseEntity.ok().headers(headers)
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(new InputStreamResource(in));
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String grade,
+            @RequestParam(required = false) String alStream,
+            @RequestParam(required = false) String registrationStatus,
+            @RequestParam(required = false) String studentType,
+            HttpServletRequest request) throws IOException {
+        String key = reportCacheService.key("students-csv", q, grade, alStream, registrationStatus, studentType);
+        return reportCacheService.serve(key, "text/csv; charset=UTF-8", "students.csv",
+                out -> studentService.exportStudentsCsv(out, q, grade, alStream, registrationStatus, studentType),
+                request);
+    }
+
+    @GetMapping("/export/xlsx")
+    public ResponseEntity<StreamingResponseBody> exportStudentsXlsx(
+            @RequestParam(required = false) String grade,
+            @RequestParam(required = false) String alStream,
+            @RequestParam(required = false) String registrationStatus,
+            HttpServletRequest request) throws IOException {
+        String key = reportCacheService.key("students-xlsx", grade, alStream, registrationStatus);
+        return reportCacheService.serve(key, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                "students.xlsx",
+                out -> studentService.exportStudentsXlsx(out, grade, alStream, registrationStatus),
+                request);
     }
 
     @GetMapping("/export/pdf")
-    public ResponseEntity<byte[]> exportStudentsPdf(
+    public ResponseEntity<StreamingResponseBody> exportStudentsPdf(
             @RequestParam(required = false) String grade,
-            @RequestParam(required = false) String alStream) {
-        List<Student> students = studentService.getAllStudents(null, grade, alStream, "ACTIVE", null);
+            @RequestParam(required = false) String alStream,
+            HttpServletRequest request) throws IOException {
         String title = buildPdfTitle(grade, alStream);
-        byte[] pdf = pdfReportService.generateStudentListPdf(students, title);
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "attachment; filename=students-report.pdf");
-        return ResponseEntity.ok().headers(headers)
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+        String key = reportCacheService.key("students-pdf", grade, alStream);
+        return reportCacheService.serve(key, MediaType.APPLICATION_PDF_VALUE, "students-report.pdf",
+                out -> studentService.exportStudentsPdf(out, grade, alStream, "ACTIVE", title),
+                request);
+    }
+
+    /** One PDF per grade × A/L stream of the active students, zipped. */
+    @GetMapping("/export/pdf/bundle")
+    public ResponseEntity<StreamingResponseBody> exportStudentsPdfBundle(HttpServletRequest request) throws IOException {
+        String key = reportCacheService.key("students-pdf-bundle");
+        return reportCacheService.serve(key, "application/zip", "students-reports.zip",
+                reportBundleService::writeGradeStreamBundle, request);
     }
 
     private String buildPdfTitle(String grade, String alStream) {
@@ -0,0 +1,46 @@
+package com.sims.server.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ImportJobDTO {
+
+    private String jobId;
+    private String filename;
+    private String status;          // QUEUED | RUNNING | COMPLETED | ALREADY_IMPORTED | FAILED | CANCELLED
+    private int rowsProcessed;
+    private double rowsPerSecond;
+    private List<String> errorSample;
+    private ImportResultDTO result;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+
+    public ImportJobDTO() {}
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getRowsProcessed() { return rowsProcessed; }
+    public void setRowsProcessed(int rowsProcessed) { this.rowsProcessed = rowsProcessed; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    public List<String> getErrorSample() { return errorSample; }
+    public void setErrorSample(List<String> errorSample) { this.errorSample = errorSample; }
+
+    public ImportResultDTO getResult() { return result; }
+    public void setResult(ImportResultDTO result) { this.result = result; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -8,6 +8,18 @@ public class ImportResultDTO {
     private int errorCount;
     private List<String> errors;
 
+    // Pre-write classification of the file's rows
+    private int insertedCount;
+    private int updatedCount;
+    private int duplicateCount;
+    private int conflictCount;
+
+    // Rows up to and including this one were committed by an earlier attempt at the same file
+    private int resumedFromRow;
+
+    // The same file was already imported completely; nothing was written this time
+    private boolean alreadyImported;
+
     public ImportResultDTO(int successCount, int errorCount, List<String> errors) {
         this.successCount = successCount;
         this.errorCount = errorCount;
@@ -17,4 +29,22 @@ public class ImportResultDTO {
     public int getSuccessCount() { return successCount; }
     public int getErrorCount() { return errorCount; }
     public List<String> getErrors() { return errors; }
+
+    public int getInsertedCount() { return insertedCount; }
+    public void setInsertedCount(int insertedCount) { this.insertedCount = insertedCount; }
+
+    public int getUpdatedCount() { return updatedCount; }
+    public void setUpdatedCount(int updatedCount) { this.updatedCount = updatedCount; }
+
+    public int getDuplicateCount() { return duplicateCount; }
+    public void setDuplicateCount(int duplicateCount) { this.duplicateCount = duplicateCount; }
+
+    public int getConflictCount() { return conflictCount; }
+    public void setConflictCount(int conflictCount) { this.conflictCount = conflictCount; }
+
+    public int getResumedFromRow() { return resumedFromRow; }
+    public void setResumedFromRow(int resumedFromRow) { this.resumedFromRow = resumedFromRow; }
+
+    public boolean isAlreadyImported() { return alreadyImported; }
+    public void setAlreadyImported(boolean alreadyImported) { this.alreadyImported = alreadyImported; }
 }
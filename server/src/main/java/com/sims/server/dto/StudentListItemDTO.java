@@ -0,0 +1,99 @@
+package com.sims.server.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read model for student lists. Same JSON shape as the {@code Student} entity,
+ * but built straight from a column projection (no managed entities, no lazy
+ * collections); {@code alSubjects} is filled in by one batched query per list.
+ */
+public class StudentListItemDTO {
+
+    private Long id;
+    private String admissionNumber;
+    private String fullName;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private String address;
+    private String contactNumber;
+    private String whatsappNumber;
+    private String email;
+    private String nicNumber;
+    private String grade;
+    private String alStream;
+    private String medium;
+    private String parentName;
+    private String parentContactNumber;
+    private String alApplicationStatus;
+    private String studentType;
+    private String registrationStatus;
+    private String rejectionReason;
+    private String stream;
+    private LocalDateTime createdAt;
+    private LocalDateTime approvedAt;
+    private LocalDateTime rejectedAt;
+    private List<String> alSubjects = new ArrayList<>();
+
+    // Argument order is fixed by StudentRepository.LIST_ITEM_SELECT
+    public StudentListItemDTO(Long id, String admissionNumber, String fullName, LocalDate dateOfBirth,
+                              String gender, String address, String contactNumber, String whatsappNumber,
+                              String email, String nicNumber, String grade, String alStream, String medium,
+                              String parentName, String parentContactNumber, String alApplicationStatus,
+                              String studentType, String registrationStatus, String rejectionReason,
+                              String stream, LocalDateTime createdAt, LocalDateTime approvedAt,
+                              LocalDateTime rejectedAt) {
+        this.id = id;
+        this.admissionNumber = admissionNumber;
+        this.fullName = fullName;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+        this.address = address;
+        this.contactNumber = contactNumber;
+        this.whatsappNumber = whatsappNumber;
+        this.email = email;
+        this.nicNumber = nicNumber;
+        this.grade = grade;
+        this.alStream = alStream;
+        this.medium = medium;
+        this.parentName = parentName;
+        this.parentContactNumber = parentContactNumber;
+        this.alApplicationStatus = alApplicationStatus;
+        this.studentType = studentType;
+        this.registrationStatus = registrationStatus;
+        this.rejectionReason = rejectionReason;
+        this.stream = stream;
+        this.createdAt = createdAt;
+        this.approvedAt = approvedAt;
+        this.rejectedAt = rejectedAt;
+    }
+
+    public Long getId() { return id; }
+    public String getAdmissionNumber() { return admissionNumber; }
+    public String getFullName() { return fullName; }
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public String getGender() { return gender; }
+    public String getAddress() { return address; }
+    public String getContactNumber() { return contactNumber; }
+    public String getWhatsappNumber() { return whatsappNumber; }
+    public String getEmail() { return email; }
+    public String getNicNumber() { return nicNumber; }
+    public String getGrade() { return grade; }
+    public String getAlStream() { return alStream; }
+    public String getMedium() { return medium; }
+    public String getParentName() { return parentName; }
+    public String getParentContactNumber() { return parentContactNumber; }
+    public String getAlApplicationStatus() { return alApplicationStatus; }
+    public String getStudentType() { return studentType; }
+    public String getRegistrationStatus() { return registrationStatus; }
+    public String getRejectionReason() { return rejectionReason; }
+    public String getStream() { return stream; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getApprovedAt() { return approvedAt; }
+    public LocalDateTime getRejectedAt() { return rejectedAt; }
+
+    public List<String> getAlSubjects() { return alSubjects; }
+    public void setAlSubjects(List<String> alSubjects) { this.alSubjects = alSubjects; }
+}
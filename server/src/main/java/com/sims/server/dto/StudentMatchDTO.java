@@ -0,0 +1,25 @@
+package com.sims.server.dto;
+
+public class StudentMatchDTO {
+
+    private StudentListItemDTO student;
+    private double score;           // 0..1, 1 = every query word matched exactly
+    private String matchedOn;       // fullName | parentName
+
+    public StudentMatchDTO() {}
+
+    public StudentMatchDTO(StudentListItemDTO student, double score, String matchedOn) {
+        this.student = student;
+        this.score = score;
+        this.matchedOn = matchedOn;
+    }
+
+    public StudentListItemDTO getStudent() { return student; }
+    public void setStudent(StudentListItemDTO student) { this.student = student; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public String getMatchedOn() { return matchedOn; }
+    public void setMatchedOn(String matchedOn) { this.matchedOn = matchedOn; }
+}
@@ -0,0 +1,29 @@
+package com.sims.server.dto;
+
+import java.util.List;
+
+public class StudentPageDTO {
+
+    private List<StudentListItemDTO> items;
+    private String nextCursor;      // null on the last page
+    private String sort;
+    private String direction;       // asc | desc
+    private int limit;
+
+    public StudentPageDTO() {}
+
+    public List<StudentListItemDTO> getItems() { return items; }
+    public void setItems(List<StudentListItemDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+
+    public String getDirection() { return direction; }
+    public void setDirection(String direction) { this.direction = direction; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
@@ -0,0 +1,10 @@
+package com.sims.server.dto;
+
+/** Closed interface projection for compact student lists (dashboard "recent students"). */
+public interface StudentSummaryView {
+    Long getId();
+    String getAdmissionNumber();
+    String getFullName();
+    String getGrade();
+    String getAlStream();
+}
@@ -0,0 +1,71 @@
+package com.sims.server.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker for a student import, keyed by the SHA-256 of the uploaded
+ * file (and import mode). Advanced in the same transaction as each committed
+ * chunk, so a re-upload of the same file resumes exactly where the last run
+ * stopped.
+ */
+@Entity
+@Table(name = "import_checkpoints")
+public class ImportCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 80)
+    private String contentHash;
+
+    private String filename;
+
+    // Highest file row number whose outcome has been committed
+    @Column(nullable = false)
+    private int lastCommittedRow;
+
+    // IN_PROGRESS | COMPLETED
+    @Column(nullable = false, length = 16)
+    private String status = "IN_PROGRESS";
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    public ImportCheckpoint() {}
+
+    public ImportCheckpoint(String contentHash, String filename) {
+        this.contentHash = contentHash;
+        this.filename = filename;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+
+    public int getLastCommittedRow() { return lastCommittedRow; }
+    public void setLastCommittedRow(int lastCommittedRow) { this.lastCommittedRow = lastCommittedRow; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,11 +1,14 @@
 package com.sims.server.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "ol_results",
         uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "subject", "exam_year"}))
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "olResults")
 public class OLResult {
 
     @Id
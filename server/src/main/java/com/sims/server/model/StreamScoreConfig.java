@@ -1,10 +1,13 @@
 package com.sims.server.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "stream_score_configs",
         uniqueConstraints = @UniqueConstraint(columnNames = {"stream", "subject_code"}))
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "scoreConfigs")
 public class StreamScoreConfig {
 
     @Id
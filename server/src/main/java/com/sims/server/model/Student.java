@@ -1,13 +1,19 @@
 package com.sims.server.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
 @Table(name = "students")
+@EntityListeners(StudentEntityListener.class)
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
 public class Student {
 
     @Id
@@ -64,6 +70,7 @@ public class Student {
     @ElementCollection
     @CollectionTable(name = "student_al_subjects", joinColumns = @JoinColumn(name = "student_id"))
     @Column(name = "subject")
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "studentAlSubjects")
     private List<String> alSubjects = new ArrayList<>();
 
     @JsonIgnore
@@ -77,8 +84,24 @@ public class Student {
     // Kept for backward-compatibility during migration — populated by StreamMigrationService
     private String stream;
 
+    // Lifecycle timestamps — set by the server, never taken from a request body
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime approvedAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime rejectedAt;
+
     public Student() {}
 
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
+
     // ── Getters & Setters ─────────────────────────────────────────────────────
 
     public Long getId() { return id; }
@@ -143,4 +166,13 @@ public class Student {
 
     public List<String> getAlSubjects() { return alSubjects; }
     public void setAlSubjects(List<String> alSubjects) { this.alSubjects = alSubjects; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getApprovedAt() { return approvedAt; }
+    public void setApprovedAt(LocalDateTime approvedAt) { this.approvedAt = approvedAt; }
+
+    public LocalDateTime getRejectedAt() { return rejectedAt; }
+    public void setRejectedAt(LocalDateTime rejectedAt) { this.rejectedAt = rejectedAt; }
 }
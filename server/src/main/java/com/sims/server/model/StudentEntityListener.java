@@ -0,0 +1,41 @@
+package com.sims.server.model;
+
+import com.sims.server.service.AdmissionRollupService;
+import com.sims.server.service.StudentChangeEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Turns JPA lifecycle callbacks on {@link Student} into {@link StudentChangeEvent}s,
+ * and counts new students in the admission rollups (inside the inserting transaction).
+ */
+public class StudentEntityListener {
+
+    // Injected by Spring: Boot registers its bean container with Hibernate
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private AdmissionRollupService admissionRollupService;
+
+    @PostPersist
+    void created(Student student) {
+        admissionRollupService.record(AdmissionRollupService.Event.CREATED, student, student.getCreatedAt());
+        saved(student);
+    }
+
+    @PostUpdate
+    void saved(Student student) {
+        publisher.publishEvent(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, List.of(student.getId())));
+    }
+
+    @PostRemove
+    void removed(Student student) {
+        publisher.publishEvent(new StudentChangeEvent(StudentChangeEvent.Kind.DELETED, List.of(student.getId())));
+    }
+}
@@ -0,0 +1,10 @@
+package com.sims.server.repository;
+
+import com.sims.server.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, Long> {
+    Optional<ImportCheckpoint> findByContentHash(String contentHash);
+}
@@ -3,14 +3,39 @@ package com.sims.server.repository;
 import com.sims.server.model.OLResult;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OLResultRepository extends JpaRepository<OLResult, Long> {
+    // Served from the second-level cache; bulk imports evict the region (see EntityCacheService)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "olResultsByStudent")
+    })
     List<OLResult> findByStudentId(Long studentId);
+
     long countByStudentId(Long studentId);
     void deleteByStudentId(Long studentId);
 
     @Query("SELECT r.subject, r.grade, COUNT(r) FROM OLResult r GROUP BY r.subject, r.grade ORDER BY r.subject, r.grade")
     List<Object[]> countBySubjectAndGrade();
+
+    // [studentId, subject, grade] of every external applicant in a stream — one query for a whole ranking
+    @Query("SELECT r.student.id, r.subject, r.grade FROM OLResult r " +
+           "WHERE r.student.studentType = 'EXTERNAL' AND r.student.alStream = :stream " +
+           "ORDER BY r.student.id, r.id")
+    List<Object[]> findApplicantGrades(@Param("stream") String stream);
+
+    // [studentId, subject, grade] for a batch of students, grouped by student
+    @Query("SELECT r.student.id, r.subject, r.grade FROM OLResult r WHERE r.student.id IN :studentIds " +
+           "ORDER BY r.student.id, r.id")
+    List<Object[]> findGradesByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    // [id, studentId, subject, examYear] — lets bulk imports tell inserts from updates
+    @Query("SELECT r.id, r.student.id, r.subject, r.examYear FROM OLResult r WHERE r.student.id IN :studentIds")
+    List<Object[]> findKeysByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
 }
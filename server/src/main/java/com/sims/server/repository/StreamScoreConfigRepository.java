@@ -1,7 +1,9 @@
 package com.sims.server.repository;
 
 import com.sims.server.model.StreamScoreConfig;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +11,11 @@ import java.util.Optional;
 
 @Repository
 public interface StreamScoreConfigRepository extends JpaRepository<StreamScoreConfig, Long> {
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "scoreConfigsByStream")
+    })
     List<StreamScoreConfig> findByStream(String stream);
+
     Optional<StreamScoreConfig> findByStreamAndSubjectCode(String stream, String subjectCode);
 }
@@ -1,29 +1,105 @@
 package com.sims.server.repository;
 
+import com.sims.server.dto.StudentListItemDTO;
+import com.sims.server.dto.StudentSummaryView;
 import com.sims.server.model.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
+
+    /** Column projection behind every list endpoint; see {@link StudentListItemDTO}. */
+    String LIST_ITEM_SELECT =
+            "SELECT new com.sims.server.dto.StudentListItemDTO(s.id, s.admissionNumber, s.fullName, " +
+            "s.dateOfBirth, s.gender, s.address, s.contactNumber, s.whatsappNumber, s.email, s.nicNumber, " +
+            "s.grade, s.alStream, s.medium, s.parentName, s.parentContactNumber, s.alApplicationStatus, " +
+            "s.studentType, s.registrationStatus, s.rejectionReason, s.stream, s.createdAt, s.approvedAt, " +
+            "s.rejectedAt) FROM Student s ";
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByAdmissionNumber(String admissionNumber);
 
-    long countByGrade(String grade);
-    long countByGender(String gender);
-    long countByRegistrationStatus(String registrationStatus);
+    /**
+     * [registrationStatus, grade, gender, alStream, count] for every combination
+     * present — a few dozen rows from which every dashboard and report counter is
+     * derived (see {@link com.sims.server.service.StudentStats}).
+     */
+    @Query("SELECT s.registrationStatus, s.grade, s.gender, s.alStream, COUNT(s) FROM Student s " +
+           "GROUP BY s.registrationStatus, s.grade, s.gender, s.alStream " +
+           "ORDER BY s.registrationStatus, s.grade, s.gender, s.alStream")
+    List<Object[]> countByStatusGradeGenderStream();
+
+    List<StudentSummaryView> findTop5ByRegistrationStatusOrderByIdDesc(String registrationStatus);
+
+    // [id, admissionNumber, nicNumber] — feeds the import duplicate pre-check
+    @Query("SELECT s.id, s.admissionNumber, s.nicNumber FROM Student s")
+    List<Object[]> findIdentityKeys();
+
+    // [id, fullName, admissionNumber, nicNumber] — feeds the trigram search index
+    @Query("SELECT s.id, s.fullName, s.admissionNumber, s.nicNumber FROM Student s")
+    List<Object[]> findSearchKeys();
+
+    @Query("SELECT s.id, s.fullName, s.admissionNumber, s.nicNumber FROM Student s WHERE s.id IN :ids")
+    List<Object[]> findSearchKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [id, fullName, nicNumber, email, alStream, registrationStatus] — external applicants to rank
+    @Query("SELECT s.id, s.fullName, s.nicNumber, s.email, s.alStream, s.registrationStatus FROM Student s " +
+           "WHERE s.studentType = 'EXTERNAL' AND s.alStream = :stream ORDER BY s.id")
+    List<Object[]> findApplicantRows(@Param("stream") String stream);
+
+    // [id, studentType, alStream] — decides which stream, if any, a student is scored for
+    @Query("SELECT s.id, s.studentType, s.alStream FROM Student s WHERE s.id IN :ids")
+    List<Object[]> findScoreKeysByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT s.alStream, COUNT(s) FROM Student s WHERE s.registrationStatus = 'ACTIVE' GROUP BY s.alStream")
-    List<Object[]> countByStreamGroup();
+    @Query("SELECT DISTINCT s.alStream FROM Student s WHERE s.studentType = 'EXTERNAL' AND s.alStream IS NOT NULL")
+    List<String> findApplicantStreams();
+
+    // [id, fullName, parentName] — feeds the phonetic name index
+    @Query("SELECT s.id, s.fullName, s.parentName FROM Student s")
+    List<Object[]> findNameKeys();
+
+    @Query("SELECT s.id, s.fullName, s.parentName FROM Student s WHERE s.id IN :ids")
+    List<Object[]> findNameKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** The {@link #searchStudents} filters applied to a candidate set from the search index. */
+    @Query(LIST_ITEM_SELECT + "WHERE s.id IN :ids " +
+           "AND (:grade IS NULL OR s.grade = :grade) " +
+           "AND (:alStream IS NULL OR s.alStream = :alStream) " +
+           "AND (:registrationStatus IS NULL OR s.registrationStatus = :registrationStatus) " +
+           "AND (:studentType IS NULL OR s.studentType = :studentType)")
+    List<StudentListItemDTO> filterStudentItems(@Param("ids") Collection<Long> ids,
+                                                @Param("grade") String grade,
+                                                @Param("alStream") String alStream,
+                                                @Param("registrationStatus") String registrationStatus,
+                                                @Param("studentType") String studentType);
 
-    @Query("SELECT s.gender, COUNT(s) FROM Student s WHERE s.registrationStatus = 'ACTIVE' GROUP BY s.gender")
-    List<Object[]> countByGenderGroup();
+    /** {@link #searchStudents} as list items. */
+    @Query(LIST_ITEM_SELECT + "WHERE " +
+           "(:q IS NULL OR LOWER(s.fullName) LIKE LOWER(CONCAT('%',:q,'%')) " +
+           "  OR LOWER(COALESCE(s.admissionNumber,'')) LIKE LOWER(CONCAT('%',:q,'%')) " +
+           "  OR LOWER(COALESCE(s.nicNumber,'')) LIKE LOWER(CONCAT('%',:q,'%'))) " +
+           "AND (:grade IS NULL OR s.grade = :grade) " +
+           "AND (:alStream IS NULL OR s.alStream = :alStream) " +
+           "AND (:registrationStatus IS NULL OR s.registrationStatus = :registrationStatus) " +
+           "AND (:studentType IS NULL OR s.studentType = :studentType)")
+    List<StudentListItemDTO> searchStudentItems(@Param("q") String q,
+                                                @Param("grade") String grade,
+                                                @Param("alStream") String alStream,
+                                                @Param("registrationStatus") String registrationStatus,
+                                                @Param("studentType") String studentType);
 
-    @Query("SELECT s.grade, COUNT(s) FROM Student s WHERE s.registrationStatus = 'ACTIVE' GROUP BY s.grade")
-    List<Object[]> countByGradeGroup();
+    @Query(LIST_ITEM_SELECT)
+    List<StudentListItemDTO> findAllItems();
 
-    List<Student> findTop5ByRegistrationStatusOrderByIdDesc(String registrationStatus);
+    // [studentId, subject] — A/L subjects for a whole page of list items in one query
+    @Query("SELECT s.id, sub FROM Student s JOIN s.alSubjects sub WHERE s.id IN :ids")
+    List<Object[]> findAlSubjectsByStudentIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT s FROM Student s WHERE " +
            "(:q IS NULL OR LOWER(s.fullName) LIKE LOWER(CONCAT('%',:q,'%')) " +
@@ -38,4 +114,28 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
                                  @Param("alStream") String alStream,
                                  @Param("registrationStatus") String registrationStatus,
                                  @Param("studentType") String studentType);
+
+    /**
+     * Same filters as {@link #searchStudents}, read forward-only for exports. A fetch
+     * size of Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the
+     * whole result set; the stream must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT s FROM Student s WHERE " +
+           "(:q IS NULL OR LOWER(s.fullName) LIKE LOWER(CONCAT('%',:q,'%')) " +
+           "  OR LOWER(COALESCE(s.admissionNumber,'')) LIKE LOWER(CONCAT('%',:q,'%')) " +
+           "  OR LOWER(COALESCE(s.nicNumber,'')) LIKE LOWER(CONCAT('%',:q,'%'))) " +
+           "AND (:grade IS NULL OR s.grade = :grade) " +
+           "AND (:alStream IS NULL OR s.alStream = :alStream) " +
+           "AND (:registrationStatus IS NULL OR s.registrationStatus = :registrationStatus) " +
+           "AND (:studentType IS NULL OR s.studentType = :studentType) " +
+           "ORDER BY s.id")
+    Stream<Student> streamStudents(@Param("q") String q,
+                                   @Param("grade") String grade,
+                                   @Param("alStream") String alStream,
+                                   @Param("registrationStatus") String registrationStatus,
+                                   @Param("studentType") String studentType);
 }
@@ -0,0 +1,20 @@
+package com.sims.server.repository;
+
+import com.sims.server.dto.StudentListItemDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StudentRepositoryCustom {
+
+    /**
+     * One keyset page of students matching the {@code searchStudents} filters,
+     * ordered by ({@code sort}, id). Rows strictly after ({@code afterKey},
+     * {@code afterId}) are returned; pass a null {@code afterId} for the first page.
+     * When {@code candidateIds} is given (search index hits for {@code q}) it
+     * replaces the LIKE match on {@code q}.
+     */
+    List<StudentListItemDTO> findPage(String q, Collection<Long> candidateIds, String grade, String alStream,
+                           String registrationStatus, String studentType, StudentSort sort, boolean descending,
+                           String afterKey, Long afterId, int limit);
+}
@@ -0,0 +1,84 @@
+package com.sims.server.repository;
+
+import com.sims.server.dto.StudentListItemDTO;
+import com.sims.server.model.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentListItemDTO> findPage(String q, Collection<Long> candidateIds, String grade, String alStream,
+                                  String registrationStatus, String studentType, StudentSort sort, boolean descending,
+                                  String afterKey, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentListItemDTO> cq = cb.createQuery(StudentListItemDTO.class);
+        Root<Student> s = cq.from(Student.class);
+        // Same columns, same order as StudentRepository.LIST_ITEM_SELECT
+        cq.select(cb.construct(StudentListItemDTO.class,
+                s.get("id"), s.get("admissionNumber"), s.get("fullName"), s.get("dateOfBirth"),
+                s.get("gender"), s.get("address"), s.get("contactNumber"), s.get("whatsappNumber"),
+                s.get("email"), s.get("nicNumber"), s.get("grade"), s.get("alStream"), s.get("medium"),
+                s.get("parentName"), s.get("parentContactNumber"), s.get("alApplicationStatus"),
+                s.get("studentType"), s.get("registrationStatus"), s.get("rejectionReason"), s.get("stream"),
+                s.get("createdAt"), s.get("approvedAt"), s.get("rejectedAt")));
+
+        List<Predicate> where = new ArrayList<>();
+        if (candidateIds != null) {
+            where.add(s.get("id").in(candidateIds));
+        } else if (q != null && !q.isBlank()) {
+            String like = "%" + q.toLowerCase() + "%";
+            where.add(cb.or(
+                    cb.like(cb.lower(s.get("fullName")), like),
+                    cb.like(cb.lower(cb.coalesce(s.<String>get("admissionNumber"), "")), like),
+                    cb.like(cb.lower(cb.coalesce(s.<String>get("nicNumber"), "")), like)));
+        }
+        if (grade != null) where.add(cb.equal(s.get("grade"), grade));
+        if (alStream != null) where.add(cb.equal(s.get("alStream"), alStream));
+        if (registrationStatus != null) where.add(cb.equal(s.get("registrationStatus"), registrationStatus));
+        if (studentType != null) where.add(cb.equal(s.get("studentType"), studentType));
+
+        // Ordered on the bare column so an index on (column, id) serves the sort. MySQL puts
+        // NULLs first ascending and last descending, and the keyset predicate follows suit.
+        Path<String> column = s.get(sort.attribute());
+        Path<Long> id = s.get("id");
+        if (afterId != null) {
+            where.add(afterKey == null
+                    ? afterNull(cb, column, id, afterId, descending)
+                    : afterValue(cb, column, id, afterKey, afterId, descending));
+        }
+
+        cq.where(where.toArray(new Predicate[0]));
+        cq.orderBy(descending
+                ? List.of(cb.desc(column), cb.desc(id))
+                : List.of(cb.asc(column), cb.asc(id)));
+        return entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+    }
+
+    // Rows after one whose key is NULL: the rest of the NULLs, then (ascending) every non-NULL key
+    private static Predicate afterNull(CriteriaBuilder cb, Path<String> column, Path<Long> id,
+                                       Long afterId, boolean descending) {
+        return descending
+                ? cb.and(cb.isNull(column), cb.lessThan(id, afterId))
+                : cb.or(cb.and(cb.isNull(column), cb.greaterThan(id, afterId)), cb.isNotNull(column));
+    }
+
+    // Rows after one whose key is afterKey; NULLs come after every key when descending
+    private static Predicate afterValue(CriteriaBuilder cb, Path<String> column, Path<Long> id,
+                                        String afterKey, Long afterId, boolean descending) {
+        return descending
+                ? cb.or(cb.lessThan(column, afterKey),
+                        cb.and(cb.equal(column, afterKey), cb.lessThan(id, afterId)),
+                        cb.isNull(column))
+                : cb.or(cb.greaterThan(column, afterKey),
+                        cb.and(cb.equal(column, afterKey), cb.greaterThan(id, afterId)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.sims.server.repository;
+
+import com.sims.server.dto.StudentListItemDTO;
+
+import java.util.function.Function;
+
+/** Sort keys supported by the paginated student listing. */
+public enum StudentSort {
+
+    NAME("name", "fullName", false, StudentListItemDTO::getFullName),
+    ADMISSION_NUMBER("admissionNumber", "admissionNumber", true, StudentListItemDTO::getAdmissionNumber),
+    GRADE("grade", "grade", true, StudentListItemDTO::getGrade);
+
+    private final String param;
+    private final String attribute;
+    private final boolean nullable;
+    private final Function<StudentListItemDTO, String> key;
+
+    StudentSort(String param, String attribute, boolean nullable, Function<StudentListItemDTO, String> key) {
+        this.param = param;
+        this.attribute = attribute;
+        this.nullable = nullable;
+        this.key = key;
+    }
+
+    public static StudentSort fromParam(String param) {
+        if (param == null || param.isBlank()) return NAME;
+        for (StudentSort s : values()) {
+            if (s.param.equalsIgnoreCase(param)) return s;
+        }
+        throw new IllegalArgumentException("Unsupported sort '" + param + "' — use name, admissionNumber or grade");
+    }
+
+    public String param() { return param; }
+
+    /** Entity attribute the keyset is built on. */
+    public String attribute() { return attribute; }
+
+    /** Whether the column may be NULL; NULL keys sort first ascending, last descending. */
+    public boolean nullable() { return nullable; }
+
+    /** The sort key of {@code student}, as compared by the query; null for a NULL column. */
+    public String keyOf(StudentListItemDTO student) {
+        return key.apply(student);
+    }
+}
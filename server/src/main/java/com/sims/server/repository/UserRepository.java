@@ -1,9 +1,16 @@
 package com.sims.server.repository;
 
 import com.sims.server.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Looked up on every authenticated request
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "usersByUsername")
+    })
     Optional<User> findByUsername(String username);
 }
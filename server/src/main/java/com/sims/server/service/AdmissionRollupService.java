@@ -0,0 +1,97 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Admission trend counters: how many students were created, approved, rejected
+ * and re-queued per day, month and year, split by A/L stream and student type.
+ *
+ * Each lifecycle transition adds to its three period rows with an upsert in the
+ * caller's transaction, so the rollup commits or rolls back with the transition.
+ * Reads go straight to {@code admission_rollups}; they never touch {@code students}.
+ */
+@Service
+public class AdmissionRollupService {
+
+    public enum Event { CREATED, APPROVED, REJECTED, REQUEUED }
+
+    public enum Granularity { DAY, MONTH, YEAR }
+
+    private static final String UPSERT =
+            "INSERT INTO admission_rollups (granularity, period_start, event, al_stream, student_type, event_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?) AS n " +
+            "ON DUPLICATE KEY UPDATE event_count = admission_rollups.event_count + n.event_count";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Records one transition of {@code student} at {@code at}. */
+    public void record(Event event, Student student, LocalDateTime at) {
+        record(event, List.of(student), at);
+    }
+
+    /** Records the same transition for many students at once, e.g. an import chunk. */
+    public void record(Event event, Collection<Student> students, LocalDateTime at) {
+        if (students.isEmpty()) return;
+        Map<List<String>, Long> counts = new LinkedHashMap<>();
+        for (Student s : students) {
+            counts.merge(List.of(nvl(s.getAlStream()), nvl(s.getStudentType())), 1L, Long::sum);
+        }
+        LocalDate day = at.toLocalDate();
+        List<Object[]> rows = new ArrayList<>(counts.size() * 3);
+        for (Map.Entry<List<String>, Long> c : counts.entrySet()) {
+            for (Granularity g : Granularity.values()) {
+                rows.add(new Object[]{g.name(), Date.valueOf(periodStart(g, day)), event.name(),
+                        c.getKey().get(0), c.getKey().get(1), c.getValue()});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    /**
+     * Rollup rows of one granularity whose period starts within [{@code from}, {@code to}],
+     * oldest first. Null filters match everything; use "" for students without a stream.
+     */
+    public List<Map<String, Object>> series(Granularity granularity, LocalDate from, LocalDate to,
+                                            Event event, String alStream, String studentType) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT period_start, event, al_stream, student_type, event_count FROM admission_rollups " +
+                "WHERE granularity = ? AND period_start BETWEEN ? AND ?");
+        List<Object> args = new ArrayList<>(List.of(granularity.name(),
+                Date.valueOf(periodStart(granularity, from)), Date.valueOf(to)));
+        if (event != null) { sql.append(" AND event = ?"); args.add(event.name()); }
+        if (alStream != null) { sql.append(" AND al_stream = ?"); args.add(alStream); }
+        if (studentType != null) { sql.append(" AND student_type = ?"); args.add(studentType); }
+        sql.append(" ORDER BY period_start, event, al_stream, student_type");
+
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("periodStart", rs.getDate(1).toLocalDate());
+            row.put("event", rs.getString(2));
+            row.put("alStream", rs.getString(3));
+            row.put("studentType", rs.getString(4));
+            row.put("count", rs.getLong(5));
+            return row;
+        }, args.toArray());
+    }
+
+    static LocalDate periodStart(Granularity granularity, LocalDate day) {
+        return switch (granularity) {
+            case DAY -> day;
+            case MONTH -> day.withDayOfMonth(1);
+            case YEAR -> day.withDayOfYear(1);
+        };
+    }
+
+    private static String nvl(String val) {
+        return val != null ? val : "";
+    }
+}
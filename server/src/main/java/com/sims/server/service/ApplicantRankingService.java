@@ -0,0 +1,116 @@
+package com.sims.server.service;
+
+import com.sims.server.dto.RankedApplicantDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Ranks the external applicants of an A/L stream by weighted O/L score.
+ * Scores are precomputed in {@code applicant_scores} by {@link ApplicantScoreService},
+ * so a ranking is one range scan of that table's (stream, score) index. A page
+ * reads the rows it returns plus the rows it skips; a window around a student
+ * reads only the rows it returns, found by keyset from the student's position.
+ *
+ * Ranks are positions in the stream's full ordering — score descending, ties by
+ * student id — whichever slice of it is asked for.
+ */
+@Service
+public class ApplicantRankingService {
+
+    private static final String RANKED =
+            "SELECT a.student_id, s.full_name, s.nic_number, s.email, s.al_stream, s.registration_status, " +
+            "a.score, a.subject_grades " +
+            "FROM applicant_scores a JOIN students s ON s.id = a.student_id " +
+            "WHERE a.stream = ?";
+    private static final String ORDER = " ORDER BY a.score DESC, a.student_id";
+
+    // Keyset halves of a window around (score, id): the rows ranked directly above,
+    // read nearest first (the index scanned backwards), and the row itself with those below
+    private static final String ABOVE =
+            RANKED + " AND a.score >= ? AND (a.score > ? OR a.student_id < ?) " +
+            "ORDER BY a.score, a.student_id DESC LIMIT ?";
+    private static final String FROM_AND_BELOW =
+            RANKED + " AND a.score <= ? AND (a.score < ? OR a.student_id >= ?)" + ORDER + " LIMIT ?";
+
+    private static final String SCORE_OF =
+            "SELECT score FROM applicant_scores WHERE student_id = ? AND stream = ?";
+    // Applicants ahead of a (score, id) in rank order; counted in the index alone
+    private static final String AHEAD_OF =
+            "SELECT COUNT(*) FROM applicant_scores " +
+            "WHERE stream = ? AND score >= ? AND (score > ? OR student_id < ?)";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Value("${sims.ranking.max-limit:1000}")
+    private int maxLimit;
+
+    /** Applicants best first, ranked 1..N; ties keep id order. */
+    public List<RankedApplicantDTO> rank(String stream) {
+        return jdbcTemplate.query(RANKED + ORDER, (rs, i) -> toDto(rs, i + 1), stream);
+    }
+
+    /**
+     * One slice of the ranking: applicants scoring at least {@code minScore} (all when
+     * null), skipping {@code offset}, at most {@code limit} (all when null, else capped
+     * at {@code sims.ranking.max-limit}). An offset needs a limit.
+     */
+    public List<RankedApplicantDTO> page(String stream, Double minScore, Integer offset, Integer limit) {
+        int skip = offset != null ? offset : 0;
+        if (skip < 0) throw new IllegalArgumentException("offset must not be negative");
+        if (limit != null && limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        if (limit == null && skip > 0) throw new IllegalArgumentException("offset requires a limit");
+
+        StringBuilder sql = new StringBuilder(RANKED);
+        List<Object> args = new ArrayList<>(List.of(stream));
+        if (minScore != null) { sql.append(" AND a.score >= ?"); args.add(minScore); }
+        sql.append(ORDER);
+        if (limit != null) {
+            sql.append(" LIMIT ? OFFSET ?");
+            args.add(Math.min(limit, maxLimit));
+            args.add(skip);
+        }
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> toDto(rs, skip + i + 1), args.toArray());
+    }
+
+    /**
+     * {@code studentId} with up to {@code window} applicants ranked directly above and
+     * below; null when the student is not ranked in {@code stream}. The window is capped
+     * so the whole result fits in {@code sims.ranking.max-limit} rows.
+     */
+    public List<RankedApplicantDTO> around(String stream, long studentId, int window) {
+        if (window < 0) throw new IllegalArgumentException("window must not be negative");
+        int w = Math.min(window, (maxLimit - 1) / 2);
+        List<Double> found = jdbcTemplate.queryForList(SCORE_OF, Double.class, studentId, stream);
+        if (found.isEmpty()) return null;
+        double score = found.get(0);
+        Long ahead = jdbcTemplate.queryForObject(AHEAD_OF, Long.class, stream, score, score, studentId);
+        int position = ahead != null ? ahead.intValue() : 0; // 0-based rank of the student
+
+        List<RankedApplicantDTO> rows = new ArrayList<>(jdbcTemplate.query(ABOVE,
+                (rs, i) -> toDto(rs, position - i), stream, score, score, studentId, w));
+        Collections.reverse(rows);
+        rows.addAll(jdbcTemplate.query(FROM_AND_BELOW,
+                (rs, i) -> toDto(rs, position + i + 1), stream, score, score, studentId, w + 1));
+        return rows;
+    }
+
+    private static RankedApplicantDTO toDto(ResultSet rs, int rank) throws SQLException {
+        RankedApplicantDTO dto = new RankedApplicantDTO();
+        dto.setStudentId(rs.getLong(1));
+        dto.setFullName(rs.getString(2));
+        dto.setNicNumber(rs.getString(3));
+        dto.setEmail(rs.getString(4));
+        dto.setAlStream(rs.getString(5));
+        dto.setRegistrationStatus(rs.getString(6));
+        dto.setTotalScore(rs.getDouble(7));
+        dto.setSubjectGrades(ApplicantScoreService.decodeGrades(rs.getString(8)));
+        dto.setRank(rank);
+        return dto;
+    }
+}
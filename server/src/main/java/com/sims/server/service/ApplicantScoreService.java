@@ -0,0 +1,246 @@
+package com.sims.server.service;
+
+import com.sims.server.repository.OLResultRepository;
+import com.sims.server.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps {@code applicant_scores} — each external applicant's weighted O/L score
+ * for their A/L stream — in step with the data it is computed from:
+ * <ul>
+ *   <li>a student's results or stream change → that student is recomputed;</li>
+ *   <li>a stream's weights change → the whole stream is recomputed in the background;</li>
+ *   <li>startup → every stream is recomputed once, before the server takes requests,
+ *       catching up on anything written while the application was down.</li>
+ * </ul>
+ * A score is the sum of {@link ScoreService#points} over the applicant's O/L results.
+ *
+ * Stream and student recomputes run concurrently, so each row carries in
+ * {@code updated_at} the time its computation started reading, and a row is only
+ * replaced by a computation that started no earlier. A stream recompute that read
+ * before a student's change therefore cannot overwrite the score the change's own
+ * recompute wrote.
+ */
+@Service
+public class ApplicantScoreService implements SmartInitializingSingleton {
+
+    // Keeps the stored row when it was computed from a later read; updated_at goes last,
+    // as MySQL applies the assignments in order
+    private static final String UPSERT =
+            "INSERT INTO applicant_scores (student_id, stream, score, subject_grades, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) AS n " +
+            "ON DUPLICATE KEY UPDATE " +
+            "score = IF(n.updated_at >= applicant_scores.updated_at, n.score, applicant_scores.score), " +
+            "subject_grades = IF(n.updated_at >= applicant_scores.updated_at, n.subject_grades, applicant_scores.subject_grades), " +
+            "updated_at = GREATEST(n.updated_at, applicant_scores.updated_at)";
+
+    // Rows left over from a student's previous stream, or from a student no longer an applicant
+    private static final String DELETE_OTHER_STREAMS =
+            "DELETE FROM applicant_scores WHERE student_id = ? AND stream <> ?";
+    private static final String DELETE_STUDENT =
+            "DELETE FROM applicant_scores WHERE student_id = ?";
+    private static final String DELETE_STALE_IN_STREAM =
+            "DELETE a FROM applicant_scores a JOIN students s ON s.id = a.student_id " +
+            "WHERE a.stream = ? AND (s.student_type <> 'EXTERNAL' OR s.al_stream IS NULL OR s.al_stream <> a.stream)";
+
+    private static final int BATCH = 1000;
+
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private OLResultRepository olResultRepository;
+    @Autowired private ScoreService scoreService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    // Always a fresh transaction: recomputes also run from after-commit listeners,
+    // where joining the just-finished transaction would never commit
+    private TransactionTemplate transactionTemplate;
+
+    // One background thread: stream recomputes run one at a time, in request order
+    private final ExecutorService recomputePool = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "applicant-score-recompute");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Streams queued but not started; a second request while one is queued is a no-op
+    private final Set<String> queuedStreams = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recomputePool.shutdownNow();
+    }
+
+    // Runs before the web server starts, so no ranking is served from a table
+    // that is still empty (first start after the migration) or being caught up
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    /** Recomputes every stream now, one after another; a failed stream is logged and skipped. */
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        Set<String> streams = new TreeSet<>(studentRepository.findApplicantStreams());
+        streams.addAll(jdbcTemplate.queryForList("SELECT DISTINCT stream FROM applicant_scores", String.class));
+        int total = 0;
+        for (String stream : streams) {
+            try {
+                total += recomputeStream(stream);
+            } catch (RuntimeException e) {
+                System.err.println("[ApplicantScoreService] Recompute of " + stream + " failed: " + e.getMessage());
+            }
+        }
+        System.out.println("[ApplicantScoreService] Backfilled " + total + " scores in " + streams.size()
+                + " streams in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // Covers creation, deletion and stream / type edits, including bulk imports
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        if (event.kind() == StudentChangeEvent.Kind.SAVED) recomputeStudents(event.studentIds());
+    }
+
+    /** Queues a recompute of every applicant in {@code stream}, e.g. after its weights changed. */
+    public void recomputeStreamAsync(String stream) {
+        if (!queuedStreams.add(stream)) return;
+        recomputePool.submit(() -> {
+            queuedStreams.remove(stream);
+            try {
+                long start = System.currentTimeMillis();
+                int n = recomputeStream(stream);
+                System.out.println("[ApplicantScoreService] Recomputed " + n + " " + stream
+                        + " scores in " + (System.currentTimeMillis() - start) + " ms");
+            } catch (RuntimeException e) {
+                System.err.println("[ApplicantScoreService] Recompute of " + stream + " failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /** Recomputes {@code stream} now, in one transaction; returns the number of applicants scored. */
+    public int recomputeStream(String stream) {
+        Integer scored = transactionTemplate.execute(status -> {
+            Timestamp readAt = now();
+            Map<Long, Scored> byId = new LinkedHashMap<>();
+            for (Object[] row : studentRepository.findApplicantRows(stream)) {
+                byId.put((Long) row[0], new Scored());
+            }
+            Map<String, Double> weights = scoreService.weightsFor(stream);
+            for (Object[] row : olResultRepository.findApplicantGrades(stream)) {
+                Scored s = byId.get((Long) row[0]);
+                if (s != null) s.add((String) row[1], (String) row[2], weights);
+            }
+            write(stream, byId, readAt);
+            jdbcTemplate.update(DELETE_STALE_IN_STREAM, stream);
+            return byId.size();
+        });
+        return scored != null ? scored : 0;
+    }
+
+    /** Recomputes just these students, in one transaction. */
+    public void recomputeStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        for (int i = 0; i < ids.size(); i += BATCH) {
+            List<Long> slice = ids.subList(i, Math.min(i + BATCH, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> recomputeSlice(slice));
+        }
+    }
+
+    private void recomputeSlice(List<Long> ids) {
+        Timestamp readAt = now();
+        Map<Long, String> streamOf = new HashMap<>();
+        for (Object[] row : studentRepository.findScoreKeysByIdIn(ids)) {
+            if ("EXTERNAL".equals(row[1]) && row[2] != null) streamOf.put((Long) row[0], (String) row[2]);
+        }
+        List<Object[]> notScored = new ArrayList<>();
+        for (Long id : ids) {
+            if (!streamOf.containsKey(id)) notScored.add(new Object[]{id});
+        }
+        if (!notScored.isEmpty()) jdbcTemplate.batchUpdate(DELETE_STUDENT, notScored);
+        if (streamOf.isEmpty()) return;
+
+        Map<Long, Scored> scored = new LinkedHashMap<>();
+        for (Long id : streamOf.keySet()) scored.put(id, new Scored());
+        Map<String, Map<String, Double>> weights = new HashMap<>();
+        for (Object[] row : olResultRepository.findGradesByStudentIdIn(streamOf.keySet())) {
+            Long id = (Long) row[0];
+            scored.get(id).add((String) row[1], (String) row[2],
+                    weights.computeIfAbsent(streamOf.get(id), scoreService::weightsFor));
+        }
+
+        Map<String, Map<Long, Scored>> byStream = new HashMap<>();
+        scored.forEach((id, s) -> byStream.computeIfAbsent(streamOf.get(id), k -> new LinkedHashMap<>()).put(id, s));
+        byStream.forEach((stream, scores) -> write(stream, scores, readAt));
+
+        List<Object[]> keep = new ArrayList<>();
+        streamOf.forEach((id, stream) -> keep.add(new Object[]{id, stream}));
+        jdbcTemplate.batchUpdate(DELETE_OTHER_STREAMS, keep);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private void write(String stream, Map<Long, Scored> scores, Timestamp readAt) {
+        List<Object[]> rows = new ArrayList<>(Math.min(scores.size(), BATCH));
+        for (Map.Entry<Long, Scored> e : scores.entrySet()) {
+            rows.add(new Object[]{e.getKey(), stream, e.getValue().score, encodeGrades(e.getValue().grades), readAt});
+            if (rows.size() == BATCH) {
+                jdbcTemplate.batchUpdate(UPSERT, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    // ── subject_grades column ─────────────────────────────────────────────────
+
+    static String encodeGrades(Map<String, String> grades) {
+        StringJoiner joined = new StringJoiner(";");
+        grades.forEach((subject, grade) -> joined.add(subject + "=" + grade));
+        return joined.toString();
+    }
+
+    static Map<String, String> decodeGrades(String encoded) {
+        Map<String, String> grades = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) return grades;
+        for (String pair : encoded.split(";")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) grades.put(pair.substring(0, eq), pair.substring(eq + 1));
+        }
+        return grades;
+    }
+
+    /** Running score and grade map of one applicant, fed result by result. */
+    private final class Scored {
+        final Map<String, String> grades = new LinkedHashMap<>();
+        double score;
+
+        void add(String subject, String grade, Map<String, Double> weights) {
+            grades.put(subject.toUpperCase(), grade.toUpperCase());
+            score += scoreService.points(subject, grade, weights);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.sims.server.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Burkhard–Keller tree over strings under Levenshtein distance. A lookup for
+ * everything within distance {@code k} of a query only descends into children
+ * whose edge distance lies in {@code [d - k, d + k]}, so it touches a small
+ * fraction of the keys instead of comparing against all of them.
+ *
+ * Keys are never removed; the owning index ignores keys it no longer uses.
+ * Not thread-safe.
+ */
+final class BkTree {
+
+    private static final class Node {
+        final String key;
+        Map<Integer, Node> children;
+
+        Node(String key) {
+            this.key = key;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(String key) {
+        if (root == null) {
+            root = new Node(key);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(key, node.key);
+            if (d == 0) return;
+            if (node.children == null) node.children = new HashMap<>(4);
+            Node child = node.children.get(d);
+            if (child == null) {
+                node.children.put(d, new Node(key));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /** Calls {@code match} with every key within {@code maxDistance} of {@code query} and its distance. */
+    void search(String query, int maxDistance, ObjIntConsumer<String> match) {
+        if (root == null) return;
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node n = pending.pop();
+            int d = distance(query, n.key);
+            if (d <= maxDistance) match.accept(n.key, d);
+            if (n.children == null) continue;
+            for (Map.Entry<Integer, Node> child : n.children.entrySet()) {
+                int edge = child.getKey();
+                if (edge >= d - maxDistance && edge <= d + maxDistance) pending.push(child.getValue());
+            }
+        }
+    }
+
+    static int distance(String a, String b) {
+        if (a.equals(b)) return 0;
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] t = prev; prev = cur; cur = t;
+        }
+        return prev[b.length()];
+    }
+}
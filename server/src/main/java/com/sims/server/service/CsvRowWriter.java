@@ -0,0 +1,58 @@
+package com.sims.server.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 writer for exports. Fields are copied straight into the
+ * underlying (buffered) writer; quoting is decided by a single scan of the value,
+ * so plain fields cost no intermediate strings.
+ */
+public final class CsvRowWriter {
+
+    private final Writer out;
+    private boolean rowStarted;
+
+    public CsvRowWriter(Writer out) {
+        this.out = out;
+    }
+
+    public CsvRowWriter field(String value) throws IOException {
+        if (rowStarted) out.write(',');
+        rowStarted = true;
+        if (value == null || value.isEmpty()) return this;
+        if (!needsQuoting(value)) {
+            out.write(value);
+            return this;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i - start + 1);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        out.write("\r\n");
+        rowStarted = false;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
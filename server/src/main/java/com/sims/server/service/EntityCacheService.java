@@ -0,0 +1,83 @@
+package com.sims.server.service;
+
+import com.sims.server.model.OLResult;
+import com.sims.server.model.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Keeps the Hibernate second-level cache correct around writes Hibernate does
+ * not see. Writes through the repositories invalidate the cache on their own;
+ * the JDBC import writers do not, so the affected entries are evicted here once
+ * their transaction has committed.
+ */
+@Service
+public class EntityCacheService {
+
+    public static final String OL_RESULTS_BY_STUDENT = "olResultsByStudent";
+
+    private static final String AL_SUBJECTS_ROLE = Student.class.getName() + ".alSubjects";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        Cache cache = cache();
+        for (Long id : event.studentIds()) {
+            cache.evictEntityData(Student.class, id);
+            cache.evictCollectionData(AL_SUBJECTS_ROLE, id);
+        }
+    }
+
+    /** Drops updated O/L results and every cached per-student result list. */
+    public void evictOLResults(Collection<Long> updatedResultIds) {
+        Cache cache = cache();
+        for (Long id : updatedResultIds) cache.evictEntityData(OLResult.class, id);
+        cache.evictQueryRegion(OL_RESULTS_BY_STUDENT);
+    }
+
+    /** Hit / miss / put counts and hit ratio for every cache region, keyed by region name. */
+    public Map<String, Map<String, Object>> regionStatistics() {
+        Statistics stats = sessionFactory().getStatistics();
+        String[] regions = stats.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (String region : regions) {
+            CacheRegionStatistics r = stats.getCacheRegionStatistics(region);
+            if (r == null) continue;
+            long lookups = r.getHitCount() + r.getMissCount();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", r.getHitCount());
+            entry.put("misses", r.getMissCount());
+            entry.put("puts", r.getPutCount());
+            entry.put("hitRatio", lookups > 0 ? (double) r.getHitCount() / lookups : 0.0);
+            entry.put("elementsInMemory", r.getElementCountInMemory());
+            result.put(region, entry);
+        }
+        return result;
+    }
+
+    public void resetStatistics() {
+        sessionFactory().getStatistics().clear();
+    }
+
+    // ── helpers ───────────────────────────────────────────────────────────────
+
+    private Cache cache() {
+        return sessionFactory().getCache();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sims.server.service;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of long ids — the posting list of the in-memory search
+ * indexes, far lighter than a Set&lt;Long&gt; per key. Not thread-safe; the
+ * owning index guards it with its lock.
+ */
+final class IdList {
+    long[] ids = new long[4];
+    int size;
+
+    /** Appends without keeping order; call {@link #sort} once bulk loading is done. */
+    void append(long id) {
+        if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        ids[size++] = id;
+    }
+
+    void sort() {
+        Arrays.sort(ids, 0, size);
+    }
+
+    void insert(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return;
+        pos = -pos - 1;
+        if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        ids[pos] = id;
+        size++;
+    }
+
+    boolean remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return false;
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+}
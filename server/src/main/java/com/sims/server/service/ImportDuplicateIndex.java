@@ -0,0 +1,81 @@
+package com.sims.server.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory view of the admission numbers and NICs already taken, used to
+ * classify import rows before anything is written. Loaded from a single
+ * projection query at the start of an import and extended with each row the
+ * file contributes, so duplicates inside the file are caught as well.
+ *
+ * Not thread-safe — only the import's ordered writer stage touches it.
+ */
+class ImportDuplicateIndex {
+
+    enum Outcome { INSERT, UPDATE, DUPLICATE, CONFLICT }
+
+    record Verdict(Outcome outcome, Long existingId, String reason) {}
+
+    // Keys are upper-cased: MySQL's default collation compares them case-insensitively
+    private final Map<String, Long> existingByAdmission = new HashMap<>();
+    private final Map<String, Long> existingByNic = new HashMap<>();
+    private final Map<String, Integer> fileAdmissions = new HashMap<>();
+    private final Map<String, Integer> fileNics = new HashMap<>();
+
+    /** @param rows {@code [id, admissionNumber, nicNumber]} for every existing student */
+    ImportDuplicateIndex(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String admission = key((String) row[1]);
+            String nic = key((String) row[2]);
+            if (admission != null) existingByAdmission.put(admission, id);
+            if (nic != null) existingByNic.putIfAbsent(nic, id);
+        }
+    }
+
+    /**
+     * Classifies a mapped row and, if it will be written, reserves its keys so
+     * later rows in the same file are checked against it.
+     */
+    Verdict classify(int rowNum, String admissionNumber, String nicNumber, boolean upsert) {
+        String admission = key(admissionNumber);
+        String nic = key(nicNumber);
+
+        Integer earlierRow = fileAdmissions.get(admission);
+        if (earlierRow != null)
+            return new Verdict(Outcome.DUPLICATE, null,
+                    "admission number " + admissionNumber + " already appears on row " + earlierRow);
+        if (nic != null && fileNics.containsKey(nic))
+            return new Verdict(Outcome.CONFLICT, null,
+                    "NIC " + nicNumber + " already appears on row " + fileNics.get(nic));
+
+        Long existingId = existingByAdmission.get(admission);
+        Long nicOwner = nic != null ? existingByNic.get(nic) : null;
+        if (nicOwner != null && !nicOwner.equals(existingId))
+            return new Verdict(Outcome.CONFLICT, null,
+                    "NIC " + nicNumber + " is already registered to another student");
+        if (existingId != null && !upsert)
+            return new Verdict(Outcome.DUPLICATE, existingId,
+                    "admission number " + admissionNumber + " already exists");
+
+        fileAdmissions.put(admission, rowNum);
+        if (nic != null) fileNics.put(nic, rowNum);
+        return existingId != null
+                ? new Verdict(Outcome.UPDATE, existingId, null)
+                : new Verdict(Outcome.INSERT, null, null);
+    }
+
+    /** Releases the keys reserved by {@link #classify} for a row whose write failed. */
+    void release(String admissionNumber, String nicNumber) {
+        fileAdmissions.remove(key(admissionNumber));
+        String nic = key(nicNumber);
+        if (nic != null) fileNics.remove(nic);
+    }
+
+    private static String key(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,93 @@
+package com.sims.server.service;
+
+import com.opencsv.CSVReader;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a spooled CSV / XLSX / XLS upload row by row as plain strings, header
+ * row first. Shared by the student and O/L result importers so every format
+ * renders cell values the same way.
+ */
+public final class ImportFileReader {
+
+    private ImportFileReader() {}
+
+    public static boolean isSupported(String filename) {
+        return filename.endsWith(".csv") || filename.endsWith(".xlsx") || filename.endsWith(".xls");
+    }
+
+    /**
+     * Streams every row of {@code file} to {@code handler}; {@code filename} is the
+     * original upload name and selects the parser.
+     */
+    public static void read(Path file, String filename, XlsxRowReader.RowHandler handler) throws Exception {
+        if (filename.endsWith(".csv")) {
+            readCsv(file, handler);
+        } else if (filename.endsWith(".xlsx")) {
+            readXlsx(file, handler);
+        } else if (filename.endsWith(".xls")) {
+            readXls(file, handler);
+        } else {
+            throw new Exception("Unsupported format. Upload a CSV or Excel file.");
+        }
+    }
+
+    private static void readCsv(Path file, XlsxRowReader.RowHandler handler) throws Exception {
+        try (BufferedReader reader = Files.newBufferedReader(file);
+             CSVReader csvReader = new CSVReader(reader)) {
+            String[] line;
+            int rowNum = 0;
+            while ((line = csvReader.readNext()) != null) {
+                handler.row(++rowNum, line);
+            }
+            if (rowNum == 0) throw new Exception("CSV file is empty");
+        }
+    }
+
+    /** .xlsx is read with {@link XlsxRowReader}, which streams the sheet XML instead of building a DOM. */
+    private static void readXlsx(Path file, XlsxRowReader.RowHandler handler) throws Exception {
+        int[] rows = {0};
+        XlsxRowReader.read(file.toFile(), (rowNum, values) -> {
+            rows[0]++;
+            handler.row(rowNum, values);
+        });
+        if (rows[0] == 0) throw new Exception("Excel file is empty");
+    }
+
+    /** Legacy binary .xls — capped at 65,536 rows by the format, so the HSSF DOM is fine. */
+    private static void readXls(Path file, XlsxRowReader.RowHandler handler) throws Exception {
+        try (InputStream in = Files.newInputStream(file);
+             Workbook workbook = new HSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            if (sheet.getPhysicalNumberOfRows() == 0) throw new Exception("Excel file is empty");
+            for (int r = sheet.getFirstRowNum(); r <= sheet.getLastRowNum(); r++) {
+                Row row = sheet.getRow(r);
+                if (row == null) continue;
+                handler.row(r + 1, excelValues(row));
+            }
+        }
+    }
+
+    private static String[] excelValues(Row row) {
+        String[] values = new String[Math.max(row.getLastCellNum(), 0)];
+        for (int i = 0; i < values.length; i++) {
+            Cell cell = row.getCell(i);
+            values[i] = cell == null ? "" : switch (cell.getCellType()) {
+                case STRING -> cell.getStringCellValue().trim();
+                case NUMERIC -> String.valueOf((long) cell.getNumericCellValue());
+                case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
+                default -> "";
+            };
+        }
+        return values;
+    }
+}
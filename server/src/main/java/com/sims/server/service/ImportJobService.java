@@ -0,0 +1,241 @@
+package com.sims.server.service;
+
+import com.sims.server.dto.ImportJobDTO;
+import com.sims.server.dto.ImportResultDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs student imports as background jobs. Uploads are spooled to local disk so
+ * the HTTP request returns immediately; the import itself runs on a small bounded
+ * pool and reports progress that clients poll through the job id.
+ */
+@Service
+public class ImportJobService {
+
+    private static final int ERROR_SAMPLE_SIZE = 20;
+    private static final long FINISHED_JOB_TTL_MS = 3_600_000; // keep finished jobs pollable for 1 hour
+
+    @Autowired private StudentImportService studentImportService;
+    @Autowired private AuditService auditService;
+
+    @Value("${sims.import.spool-dir:${java.io.tmpdir}/sims-imports}")
+    private String spoolDir;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(@Value("${sims.import.workers:2}") int workers,
+                            @Value("${sims.import.queue-capacity:8}") int queueCapacity) {
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "import-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // full queue → RejectedExecutionException
+    }
+
+    public ImportJobDTO submit(MultipartFile file, boolean upsert, boolean restart) throws Exception {
+        String filename = file.getOriginalFilename();
+        if (filename == null) throw new Exception("Invalid file");
+        if (!studentImportService.isSupportedImportFile(filename))
+            throw new Exception("Unsupported format. Upload a CSV or Excel file.");
+
+        Path dir = Files.createDirectories(Paths.get(spoolDir));
+        Path spooled = Files.createTempFile(dir, "import-", "-" + filename.replaceAll("[^A-Za-z0-9._-]", "_"));
+        // Hash while spooling: the digest identifies re-uploads of the same file for resuming
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+        }
+        String contentHash = HexFormat.of().formatHex(sha256.digest());
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), filename, spooled, contentHash, upsert, restart);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(new DelegatingSecurityContextRunnable(() -> run(job)));
+        } catch (RuntimeException rejected) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(spooled);
+            throw rejected;
+        }
+        return job.toDTO();
+    }
+
+    public Optional<ImportJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::toDTO);
+    }
+
+    public Optional<ImportJobDTO> cancel(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+        job.cancelled = true;
+        return Optional.of(job.toDTO());
+    }
+
+    private void run(ImportJob job) {
+        if (job.cancelled) {
+            job.finish("CANCELLED", null);
+            cleanup(job);
+            return;
+        }
+        job.status = "RUNNING";
+        job.startedNanos = System.nanoTime();
+        try {
+            ImportResultDTO result = studentImportService.importStudents(
+                    job.file, job.filename, job.upsert, job.restart, job.contentHash, job);
+            if (result.isAlreadyImported()) {
+                job.finish("ALREADY_IMPORTED", result);
+                return;
+            }
+            job.finish("COMPLETED", result);
+            auditService.log("IMPORT_STUDENTS", "Imported " + result.getSuccessCount()
+                    + " students (" + result.getErrorCount() + " errors) from " + job.filename);
+        } catch (CancellationException e) {
+            job.finish("CANCELLED", job.partialResult());
+            auditService.log("IMPORT_STUDENTS", "Import of " + job.filename + " cancelled after "
+                    + job.succeeded + " students");
+        } catch (Exception e) {
+            job.rowFailed(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            job.finish("FAILED", job.partialResult());
+        } finally {
+            cleanup(job);
+        }
+    }
+
+    private void cleanup(ImportJob job) {
+        try {
+            Files.deleteIfExists(job.file);
+        } catch (Exception e) {
+            System.err.println("Failed to delete spooled import " + job.file + ": " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void evictFinished() {
+        long cutoff = System.currentTimeMillis() - FINISHED_JOB_TTL_MS;
+        jobs.values().removeIf(j -> j.finishedAtMs != 0 && j.finishedAtMs < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(j -> j.cancelled = true);
+        executor.shutdown();
+    }
+
+    // ── job state ─────────────────────────────────────────────────────────────
+
+    private static class ImportJob implements ImportProgress {
+        final String id;
+        final String filename;
+        final Path file;
+        final String contentHash;
+        final boolean upsert;
+        final boolean restart;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final List<String> errorSample = new ArrayList<>();
+
+        volatile String status = "QUEUED";
+        volatile boolean cancelled;
+        volatile int succeeded;
+        volatile int failed;
+        volatile long startedNanos;
+        volatile long finishedNanos;
+        volatile long finishedAtMs;
+        volatile LocalDateTime finishedAt;
+        volatile ImportResultDTO result;
+
+        ImportJob(String id, String filename, Path file, String contentHash, boolean upsert, boolean restart) {
+            this.id = id;
+            this.filename = filename;
+            this.file = file;
+            this.contentHash = contentHash;
+            this.upsert = upsert;
+            this.restart = restart;
+        }
+
+        @Override
+        public void rowsProcessed(int succeeded, int failed) {
+            this.succeeded = succeeded;
+            this.failed = failed;
+        }
+
+        @Override
+        public void rowFailed(String error) {
+            synchronized (errorSample) {
+                if (errorSample.size() < ERROR_SAMPLE_SIZE) errorSample.add(error);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        void finish(String finalStatus, ImportResultDTO finalResult) {
+            if (finalResult != null) rowsProcessed(finalResult.getSuccessCount(), finalResult.getErrorCount());
+            result = finalResult;
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            finishedAtMs = System.currentTimeMillis();
+            status = finalStatus;
+        }
+
+        ImportResultDTO partialResult() {
+            synchronized (errorSample) {
+                return new ImportResultDTO(succeeded, failed, new ArrayList<>(errorSample));
+            }
+        }
+
+        ImportJobDTO toDTO() {
+            ImportJobDTO dto = new ImportJobDTO();
+            dto.setJobId(id);
+            dto.setFilename(filename);
+            dto.setStatus(status);
+            int processed = succeeded + failed;
+            dto.setRowsProcessed(processed);
+            if (startedNanos != 0) {
+                long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+                double seconds = (end - startedNanos) / 1e9;
+                dto.setRowsPerSecond(seconds > 0 ? Math.round(processed / seconds * 10) / 10.0 : 0);
+            }
+            synchronized (errorSample) {
+                dto.setErrorSample(new ArrayList<>(errorSample));
+            }
+            dto.setResult(result);
+            dto.setSubmittedAt(submittedAt);
+            dto.setFinishedAt(finishedAt);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.sims.server.service;
+
+/**
+ * Callback an import reports to as it goes. Background import jobs use it to
+ * publish progress and to ask a running import to stop early.
+ */
+public interface ImportProgress {
+
+    /** Cumulative totals, reported each time a chunk has been committed. */
+    default void rowsProcessed(int succeeded, int failed) {}
+
+    default void rowFailed(String error) {}
+
+    /** Checked between rows; an import that sees {@code true} stops after its last committed chunk. */
+    default boolean isCancelled() { return false; }
+}
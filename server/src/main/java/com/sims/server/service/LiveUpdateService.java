@@ -0,0 +1,255 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes dashboard and pending-queue changes to connected clients over
+ * server-sent events, so the admin pages no longer poll.
+ *
+ * Committed student changes are collected from Hibernate's post-commit events
+ * (and {@link StudentChangeEvent} for bulk imports) into a small in-process
+ * buffer, and every {@code sims.live.flush-ms} the buffer is coalesced and sent
+ * as at most three events:
+ * <ul>
+ *   <li>{@code counters} — only the dashboard counters whose value changed;</li>
+ *   <li>{@code applicants} — students that arrived as PENDING_APPROVAL, with the
+ *       columns the applications list shows;</li>
+ *   <li>{@code status} — registration status changes (approve / reject / requeue /
+ *       interview), one per student with its first and last status in the window
+ *       and, for a rejection, the reason.</li>
+ * </ul>
+ * A burst larger than {@code sims.live.max-batch} students is sent as a single
+ * {@code resync} event instead, telling clients to refetch.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final String PENDING = "PENDING_APPROVAL";
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${sims.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${sims.live.max-batch:200}")
+    private int maxBatch;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // Pending changes since the last flush; guarded by `this`
+    private final Map<Long, Map<String, Object>> applicants = new LinkedHashMap<>();
+    private final Map<Long, String[]> statusChanges = new LinkedHashMap<>(); // id -> {from, to, reason}
+    private boolean countersDirty;
+    private boolean overflow;
+
+    // Counters as last pushed, to send only what changed
+    private Map<String, Object> lastCounters;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        StatusListener listener = new StatusListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /** Opens a stream for one client, starting with the full set of counters. */
+    public SseEmitter subscribe() throws IOException {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        emitter.send(SseEmitter.event().name("counters").data(studentStatsService.current().dashboardCounters()));
+        return emitter;
+    }
+
+    // Bulk imports write through JDBC; their rows only show up in the counters
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        countersChanged();
+    }
+
+    @Scheduled(fixedDelayString = "${sims.live.flush-ms:1000}")
+    public void flush() {
+        List<Map<String, Object>> newApplicants;
+        List<Map<String, Object>> changes;
+        boolean resync;
+        boolean counters;
+        synchronized (this) {
+            resync = overflow;
+            counters = countersDirty || resync;
+            newApplicants = new ArrayList<>(applicants.values());
+            changes = new ArrayList<>(statusChanges.size());
+            statusChanges.forEach((id, s) -> {
+                if (Objects.equals(s[0], s[1])) return; // changed and changed back
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("id", id);
+                change.put("from", s[0]);
+                change.put("to", s[1]);
+                if (s[2] != null) change.put("rejectionReason", s[2]);
+                changes.add(change);
+            });
+            applicants.clear();
+            statusChanges.clear();
+            countersDirty = false;
+            overflow = false;
+        }
+        if (emitters.isEmpty()) {
+            lastCounters = null; // nobody saw the last push; the next subscriber gets a full set
+            return;
+        }
+
+        if (resync) {
+            broadcast("resync", Map.of("reason", "burst"));
+        } else {
+            if (!newApplicants.isEmpty()) broadcast("applicants", newApplicants);
+            if (!changes.isEmpty()) broadcast("status", changes);
+        }
+        if (counters) {
+            Map<String, Object> current = studentStatsService.current().dashboardCounters();
+            Map<String, Object> delta = new LinkedHashMap<>();
+            current.forEach((k, v) -> {
+                if (lastCounters == null || !Objects.equals(lastCounters.get(k), v)) delta.put(k, v);
+            });
+            lastCounters = current;
+            if (!delta.isEmpty()) broadcast("counters", delta);
+        }
+    }
+
+    /** Comment line that keeps idle connections open through proxies. */
+    @Scheduled(fixedDelay = 25_000)
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private void broadcast(String name, Object data) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter); // client went away
+            }
+        }
+    }
+
+    // ── buffering ─────────────────────────────────────────────────────────────
+
+    private synchronized void applicantArrived(Student s) {
+        countersDirty = true;
+        if (overflow || !room()) return;
+        Map<String, Object> a = new LinkedHashMap<>();
+        a.put("id", s.getId());
+        a.put("fullName", s.getFullName());
+        a.put("nicNumber", s.getNicNumber());
+        a.put("medium", s.getMedium());
+        a.put("alStream", s.getAlStream());
+        a.put("email", s.getEmail());
+        a.put("contactNumber", s.getContactNumber());
+        a.put("studentType", s.getStudentType());
+        a.put("registrationStatus", s.getRegistrationStatus());
+        applicants.put(s.getId(), a);
+    }
+
+    private synchronized void statusChanged(Long id, String from, String to, String reason) {
+        countersDirty = true;
+        if (overflow) return;
+        String[] existing = statusChanges.get(id);
+        if (existing != null) {
+            existing[1] = to;
+            existing[2] = reason;
+        } else if (room()) {
+            statusChanges.put(id, new String[]{from, to, reason});
+        }
+    }
+
+    private synchronized void countersChanged() {
+        countersDirty = true;
+    }
+
+    private boolean room() {
+        if (applicants.size() + statusChanges.size() < maxBatch) return true;
+        overflow = true;
+        applicants.clear();
+        statusChanges.clear();
+        return false;
+    }
+
+    /** Turns committed Student inserts / updates / deletes into buffered changes. */
+    private final class StatusListener implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (!(event.getEntity() instanceof Student s)) return;
+            if (PENDING.equals(s.getRegistrationStatus())) applicantArrived(s);
+            else countersChanged();
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (!(event.getEntity() instanceof Student s)) return;
+            String from = event.getOldState() != null
+                    ? (String) event.getOldState()[statusIndex(event.getPersister())]
+                    : null;
+            if (event.getOldState() != null && !Objects.equals(from, s.getRegistrationStatus())) {
+                statusChanged(s.getId(), from, s.getRegistrationStatus(),
+                        "REJECTED".equals(s.getRegistrationStatus()) ? s.getRejectionReason() : null);
+            } else {
+                countersChanged();
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (!(event.getEntity() instanceof Student s)) return;
+            statusChanged(s.getId(), s.getRegistrationStatus(), null, null);
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getMappedClass() == Student.class;
+        }
+
+        private int statusIndex(EntityPersister persister) {
+            return Arrays.asList(persister.getPropertyNames()).indexOf("registrationStatus");
+        }
+    }
+}
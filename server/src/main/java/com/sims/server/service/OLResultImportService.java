@@ -0,0 +1,212 @@
+package com.sims.server.service;
+
+import com.sims.server.dto.ImportResultDTO;
+import com.sims.server.repository.OLResultRepository;
+import com.sims.server.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Bulk O/L result import from CSV / Excel. Two layouts are accepted:
+ * <ul>
+ *   <li>long — one row per student and subject, with {@code subject} and {@code grade} columns;</li>
+ *   <li>wide — one row per student, with one column per subject holding the grade.</li>
+ * </ul>
+ * Students are identified by a {@code nicNumber} or {@code admissionNumber} column
+ * and an optional {@code examYear}. Results that already exist for the same
+ * (student, subject, exam year) are updated instead of violating the unique key.
+ */
+@Service
+public class OLResultImportService {
+
+    // Columns that identify the student rather than naming a subject in the wide layout
+    private static final Set<String> KEY_COLUMNS = Set.of(
+            "nicnumber", "nic", "admissionnumber", "examyear", "fullname", "name");
+
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private OLResultRepository olResultRepository;
+    @Autowired private OLResultImportWriter writer;
+    @Autowired private ScoreService scoreService;
+    @Autowired private ApplicantScoreService applicantScoreService;
+
+    @Value("${sims.import.chunk-size:500}")
+    private int chunkSize;
+
+    private record ParsedResult(int rowNum, long studentId, String subject, String grade, Integer examYear) {
+        String key() {
+            return studentId + "|" + subject + "|" + examYear;
+        }
+    }
+
+    public ImportResultDTO importResults(MultipartFile file) throws Exception {
+        String filename = file.getOriginalFilename();
+        if (filename == null) throw new Exception("Invalid file");
+        if (!ImportFileReader.isSupported(filename))
+            throw new Exception("Unsupported format. Upload a CSV or Excel file.");
+
+        List<String> errors = new ArrayList<>();
+        List<ParsedResult> parsed = new ArrayList<>();
+        Path spooled = Files.createTempFile("sims-ol-import-",
+                "-" + filename.replaceAll("[^A-Za-z0-9._-]", "_"));
+        try {
+            file.transferTo(spooled);
+            parse(spooled, filename, parsed, errors);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+
+        // One lookup for every result already stored for the students in this file
+        Map<String, Long> existing = new HashMap<>();
+        List<Long> studentIds = parsed.stream().map(ParsedResult::studentId).distinct().toList();
+        for (int i = 0; i < studentIds.size(); i += 1000) {
+            List<Long> slice = studentIds.subList(i, Math.min(i + 1000, studentIds.size()));
+            for (Object[] row : olResultRepository.findKeysByStudentIdIn(slice)) {
+                String key = row[1] + "|" + ((String) row[2]).trim().toUpperCase() + "|" + row[3];
+                existing.put(key, (Long) row[0]);
+            }
+        }
+
+        Map<String, Integer> seen = new HashMap<>();
+        List<ParsedResult> accepted = new ArrayList<>();
+        for (ParsedResult r : parsed) {
+            Integer earlier = seen.putIfAbsent(r.key(), r.rowNum());
+            if (earlier != null) {
+                errors.add("Row " + r.rowNum() + " (" + r.subject() + "): duplicate of row " + earlier);
+            } else {
+                accepted.add(r);
+            }
+        }
+
+        int written = 0;
+        for (int i = 0; i < accepted.size(); i += chunkSize) {
+            written += writeChunk(accepted.subList(i, Math.min(i + chunkSize, accepted.size())), existing, errors);
+        }
+        applicantScoreService.recomputeStudents(accepted.stream().map(ParsedResult::studentId).distinct().toList());
+        return new ImportResultDTO(written, errors.size(), errors);
+    }
+
+    private void parse(Path file, String filename, List<ParsedResult> parsed, List<String> errors) throws Exception {
+        Map<String, Long> byNic = new HashMap<>();
+        Map<String, Long> byAdmission = new HashMap<>();
+        for (Object[] row : studentRepository.findIdentityKeys()) {
+            if (row[1] != null) byAdmission.put(((String) row[1]).trim().toUpperCase(), (Long) row[0]);
+            if (row[2] != null) byNic.putIfAbsent(((String) row[2]).trim().toUpperCase(), (Long) row[0]);
+        }
+
+        Map<String, Integer> colIndex = new HashMap<>();
+        Map<Integer, String> subjectColumns = new LinkedHashMap<>();
+        ImportFileReader.read(file, filename, (rowNum, values) -> {
+            if (colIndex.isEmpty()) {
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == null || values[i].isBlank()) continue;
+                    String key = values[i].trim().toLowerCase().replace(" ", "");
+                    colIndex.put(key, i);
+                    if (!KEY_COLUMNS.contains(key) && !key.equals("subject") && !key.equals("grade"))
+                        subjectColumns.put(i, values[i].trim().toUpperCase().replace(' ', '_'));
+                }
+                return;
+            }
+            try {
+                Long studentId = resolveStudent(values, colIndex, byNic, byAdmission);
+                Integer examYear = examYear(cell(values, colIndex.get("examyear")));
+                if (colIndex.containsKey("subject") && colIndex.containsKey("grade")) {
+                    String subject = cell(values, colIndex.get("subject"));
+                    if (subject == null) throw new IllegalArgumentException("subject is required");
+                    addResult(parsed, errors, rowNum, studentId, subject.toUpperCase(),
+                            cell(values, colIndex.get("grade")), examYear);
+                } else {
+                    for (Map.Entry<Integer, String> col : subjectColumns.entrySet()) {
+                        String grade = cell(values, col.getKey());
+                        if (grade != null) addResult(parsed, errors, rowNum, studentId, col.getValue(), grade, examYear);
+                    }
+                }
+            } catch (Exception e) {
+                errors.add("Row " + rowNum + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private Long resolveStudent(String[] values, Map<String, Integer> colIndex,
+                                Map<String, Long> byNic, Map<String, Long> byAdmission) {
+        String nic = cell(values, colIndex.getOrDefault("nicnumber", colIndex.get("nic")));
+        String admission = cell(values, colIndex.get("admissionnumber"));
+        if (nic == null && admission == null)
+            throw new IllegalArgumentException("nicNumber or admissionNumber is required");
+        Long id = nic != null ? byNic.get(nic.toUpperCase()) : null;
+        if (id == null && admission != null) id = byAdmission.get(admission.toUpperCase());
+        if (id == null)
+            throw new IllegalArgumentException("no student found for "
+                    + (nic != null ? "NIC " + nic : "admission number " + admission));
+        return id;
+    }
+
+    private void addResult(List<ParsedResult> parsed, List<String> errors, int rowNum, long studentId,
+                           String subject, String grade, Integer examYear) {
+        String g = grade == null ? null : grade.trim().toUpperCase();
+        if (g == null || !scoreService.getGradePoints().containsKey(g)) {
+            errors.add("Row " + rowNum + " (" + subject + "): invalid grade '" + grade + "'");
+            return;
+        }
+        parsed.add(new ParsedResult(rowNum, studentId, subject, g, examYear));
+    }
+
+    /** Writes one chunk; a failed chunk is replayed result by result to report the offending rows. */
+    private int writeChunk(List<ParsedResult> chunk, Map<String, Long> existing, List<String> errors) {
+        try {
+            writer.writeChunk(insertArgs(chunk, existing), updateArgs(chunk, existing));
+            return chunk.size();
+        } catch (RuntimeException chunkFailure) {
+            int written = 0;
+            for (ParsedResult r : chunk) {
+                try {
+                    writer.writeChunk(insertArgs(List.of(r), existing), updateArgs(List.of(r), existing));
+                    written++;
+                } catch (RuntimeException e) {
+                    errors.add("Row " + r.rowNum() + " (" + r.subject() + "): "
+                            + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+            return written;
+        }
+    }
+
+    private List<Object[]> insertArgs(List<ParsedResult> chunk, Map<String, Long> existing) {
+        List<Object[]> args = new ArrayList<>();
+        for (ParsedResult r : chunk) {
+            if (!existing.containsKey(r.key()))
+                args.add(new Object[]{r.studentId(), r.subject(), r.grade(), r.examYear()});
+        }
+        return args;
+    }
+
+    private List<Object[]> updateArgs(List<ParsedResult> chunk, Map<String, Long> existing) {
+        List<Object[]> args = new ArrayList<>();
+        for (ParsedResult r : chunk) {
+            Long id = existing.get(r.key());
+            if (id != null) args.add(new Object[]{r.grade(), id});
+        }
+        return args;
+    }
+
+    private Integer examYear(String value) {
+        if (value == null) return null;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid examYear '" + value + "'");
+        }
+    }
+
+    private String cell(String[] values, Integer idx) {
+        if (idx == null || idx >= values.length || values[idx] == null) return null;
+        String v = values[idx].trim();
+        return v.isEmpty() ? null : v;
+    }
+}
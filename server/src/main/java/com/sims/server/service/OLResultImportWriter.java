@@ -0,0 +1,56 @@
+package com.sims.server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch write path for bulk O/L result imports (see {@link StudentImportWriter}
+ * for why imports bypass the JPA repositories).
+ */
+@Service
+public class OLResultImportWriter {
+
+    private static final String INSERT_RESULT =
+            "INSERT INTO ol_results (student_id, subject, grade, exam_year) VALUES (?, ?, ?, ?)";
+
+    private static final String UPDATE_RESULT =
+            "UPDATE ol_results SET grade = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    /**
+     * @param inserts {@code [studentId, subject, grade, examYear]} rows
+     * @param updates {@code [grade, resultId]} rows
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeChunk(List<Object[]> inserts, List<Object[]> updates) {
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_RESULT, inserts);
+        if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_RESULT, updates);
+
+        // Hibernate never sees these rows: evict its cached copies and recount by hand
+        List<Long> updatedIds = new ArrayList<>(updates.size());
+        for (Object[] u : updates) updatedIds.add((Long) u[1]);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityCacheService.evictOLResults(updatedIds);
+                studentStatsService.markStale();
+            }
+        });
+    }
+}
@@ -1,5 +1,8 @@
 package com.sims.server.service;
 
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
@@ -15,25 +18,56 @@ import com.sims.server.model.Student;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 
 @Service
 public class PdfReportService {
 
-    private static final DeviceRgb HEADER_BG = new DeviceRgb(24, 24, 27);   // zinc-900
+    private static final DeviceRgb HEADER_BG = new DeviceRgb(24, 24, 27);    // zinc-900
     private static final DeviceRgb ROW_ALT   = new DeviceRgb(250, 250, 250); // zinc-50
+    private static final DeviceRgb MUTED     = new DeviceRgb(113, 113, 122); // zinc-500
+    private static final DeviceRgb SUBTLE    = new DeviceRgb(161, 161, 170); // zinc-400
+
+    private static final float[] COL_WIDTHS = {60, 160, 80, 60, 80, 60, 100, 100};
+    private static final String[] HEADERS =
+            {"Adm. No", "Full Name", "Grade", "Gender", "Stream", "Medium", "Contact", "Parent Contact"};
+
+    // Rows laid out and written to the output between flushes of the table
+    private static final int FLUSH_EVERY_ROWS = 50;
+
+    // Parsed font programs are immutable and shared; a PdfFont is bound to one document
+    private static final FontProgram BOLD_PROGRAM = loadFont(StandardFonts.HELVETICA_BOLD);
+    private static final FontProgram REGULAR_PROGRAM = loadFont(StandardFonts.HELVETICA);
 
     public byte[] generateStudentListPdf(List<Student> students, String title) {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeStudentListPdf(students.iterator(), title, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Renders the student list straight into {@code out}. The table is a large
+     * table that is flushed every {@value #FLUSH_EVERY_ROWS} rows, so completed
+     * pages are written while later rows are still being read and only the rows
+     * since the last flush are held in memory. {@code out} is left open.
+     *
+     * @return number of students written
+     */
+    public int writeStudentListPdf(Iterator<Student> students, String title, OutputStream out) {
         PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
         PdfDocument pdf = new PdfDocument(writer);
         Document doc = new Document(pdf, PageSize.A4.rotate());
         doc.setMargins(30, 30, 30, 30);
 
+        int count = 0;
         try {
-            PdfFont bold = PdfFontFactory.createFont("Helvetica-Bold");
-            PdfFont regular = PdfFontFactory.createFont("Helvetica");
+            PdfFont bold = PdfFontFactory.createFont(BOLD_PROGRAM);
+            PdfFont regular = PdfFontFactory.createFont(REGULAR_PROGRAM);
 
             // Title
             doc.add(new Paragraph("Student Information Management System")
@@ -42,33 +76,32 @@ public class PdfReportService {
 
             doc.add(new Paragraph(title)
                     .setFont(regular).setFontSize(10)
-                    .setFontColor(new DeviceRgb(113, 113, 122))
+                    .setFontColor(MUTED)
                     .setTextAlignment(TextAlignment.CENTER)
                     .setMarginBottom(4));
 
             doc.add(new Paragraph("Generated: " + LocalDate.now())
                     .setFont(regular).setFontSize(8)
-                    .setFontColor(new DeviceRgb(161, 161, 170))
+                    .setFontColor(SUBTLE)
                     .setTextAlignment(TextAlignment.CENTER)
                     .setMarginBottom(16));
 
-            // Table
-            float[] colWidths = {60, 160, 80, 60, 80, 60, 100, 100};
-            Table table = new Table(UnitValue.createPointArray(colWidths));
+            // Table — added before its rows so it can be flushed as it grows
+            Table table = new Table(UnitValue.createPointArray(COL_WIDTHS), true);
             table.setWidth(UnitValue.createPercentValue(100));
 
-            String[] headers = {"Adm. No", "Full Name", "Grade", "Gender", "Stream", "Medium", "Contact", "Parent Contact"};
-            for (String h : headers) {
+            for (String h : HEADERS) {
                 table.addHeaderCell(
                         new Cell().add(new Paragraph(h).setFont(bold).setFontSize(8)
                                 .setFontColor(ColorConstants.WHITE))
                                 .setBackgroundColor(HEADER_BG)
                                 .setPadding(5));
             }
+            doc.add(table);
 
-            for (int i = 0; i < students.size(); i++) {
-                Student s = students.get(i);
-                DeviceRgb bg = (i % 2 == 1) ? ROW_ALT : null;
+            while (students.hasNext()) {
+                Student s = students.next();
+                DeviceRgb bg = (count % 2 == 1) ? ROW_ALT : null;
                 String[] cells = {
                         nvl(s.getAdmissionNumber()),
                         nvl(s.getFullName()),
@@ -84,13 +117,13 @@ public class PdfReportService {
                     if (bg != null) cell.setBackgroundColor(bg);
                     table.addCell(cell);
                 }
+                if (++count % FLUSH_EVERY_ROWS == 0) table.flush();
             }
+            table.complete();
 
-            doc.add(table);
-
-            doc.add(new Paragraph("Total records: " + students.size())
+            doc.add(new Paragraph("Total records: " + count)
                     .setFont(regular).setFontSize(8)
-                    .setFontColor(new DeviceRgb(113, 113, 122))
+                    .setFontColor(MUTED)
                     .setMarginTop(10));
 
         } catch (Exception e) {
@@ -98,7 +131,15 @@ public class PdfReportService {
         } finally {
             doc.close();
         }
-        return out.toByteArray();
+        return count;
+    }
+
+    private static FontProgram loadFont(String name) {
+        try {
+            return FontProgramFactory.createFont(name);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load font " + name, e);
+        }
     }
 
     private String nvl(String val) {
@@ -0,0 +1,50 @@
+package com.sims.server.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Student ids changed while an in-memory index is being built from a snapshot.
+ * Change events arriving during the build are held here instead of being applied
+ * to a half-built index, and the builder replays them once its snapshot is loaded,
+ * so nothing committed mid-build is lost.
+ */
+final class PendingChanges {
+
+    private final Set<Long> ids = new HashSet<>();
+    private boolean building;
+
+    /** Starts holding changes; call before reading the snapshot. */
+    synchronized void startBuild() {
+        building = true;
+        ids.clear();
+    }
+
+    /** Holds {@code changed} if a build is running; false means the caller applies it now. */
+    synchronized boolean holdIfBuilding(Collection<Long> changed) {
+        if (!building) return false;
+        ids.addAll(changed);
+        return true;
+    }
+
+    /** The build failed; stop holding changes and drop those held. */
+    synchronized void abandonBuild() {
+        building = false;
+        ids.clear();
+    }
+
+    /**
+     * Ids held since the last call, for the builder to replay; once none are left the
+     * build is over and later changes are no longer held.
+     */
+    synchronized Set<Long> drainOrFinish() {
+        if (ids.isEmpty()) {
+            building = false;
+            return Set.of();
+        }
+        Set<Long> drained = new HashSet<>(ids);
+        ids.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,57 @@
+package com.sims.server.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Phonetic key for romanised Sinhala and Tamil names. Folds the spellings that
+ * transliteration varies on — aspirated digraphs (th/t, dh/d, ch/c, sh/s…),
+ * w/v, long vowels written doubled (oo/u, ee/i, aa/a) and doubled consonants —
+ * so "Chathurika" and "Chaturika" share the key "caturika". What is left after
+ * folding is compared by edit distance, which catches the rest.
+ */
+final class PhoneticKey {
+
+    private static final String[][] DIGRAPHS = {
+            {"th", "t"}, {"dh", "d"}, {"ch", "c"}, {"sh", "s"}, {"kh", "k"}, {"gh", "g"},
+            {"ph", "p"}, {"bh", "b"}, {"jh", "j"}, {"zh", "l"}, {"ck", "k"},
+            {"ee", "i"}, {"ie", "i"}, {"oo", "u"}, {"ou", "u"},
+    };
+
+    private PhoneticKey() {}
+
+    /** Keys for each word of {@code name}, in order; empty for null or blank names. */
+    static List<String> ofName(String name) {
+        List<String> keys = new ArrayList<>();
+        if (name == null) return keys;
+        for (String word : name.toLowerCase(Locale.ROOT).split("[^a-z]+")) {
+            String key = of(word);
+            if (!key.isEmpty()) keys.add(key);
+        }
+        return keys;
+    }
+
+    /** Key for a single lower-case word of ASCII letters. */
+    static String of(String word) {
+        String w = word;
+        for (String[] d : DIGRAPHS) w = w.replace(d[0], d[1]);
+
+        StringBuilder key = new StringBuilder(w.length());
+        char prev = 0;
+        for (int i = 0; i < w.length(); i++) {
+            char c = switch (w.charAt(i)) {
+                case 'w' -> 'v';
+                case 'z' -> 's';
+                case 'q' -> 'k';
+                default -> w.charAt(i);
+            };
+            if (c == prev) continue; // aa -> a, nn -> n, ll -> l
+            key.append(c);
+            prev = c;
+        }
+        // A trailing h is silent: "Ramesh" folds to "rames", "Shah" to "sa"
+        if (key.length() > 1 && key.charAt(key.length() - 1) == 'h') key.setLength(key.length() - 1);
+        return key.toString();
+    }
+}
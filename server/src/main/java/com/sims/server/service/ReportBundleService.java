@@ -0,0 +1,92 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+import com.sims.server.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds the term-start bundle: one PDF student list per grade × A/L stream,
+ * zipped together. Active students are read once and partitioned in memory;
+ * sections render in parallel and are zipped in a fixed order as they finish.
+ */
+@Service
+public class ReportBundleService {
+
+    private static final String NO_STREAM = "UNASSIGNED";
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PdfReportService pdfReportService;
+
+    private final ExecutorService renderPool;
+
+    public ReportBundleService(@Value("${sims.reports.render-threads:0}") int renderThreads) {
+        int threads = renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNo = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "report-render-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    /** Writes a ZIP with one PDF per (grade, A/L stream) section of the active students. */
+    public void writeGradeStreamBundle(OutputStream out) throws IOException {
+        Map<String, List<Student>> sections = new TreeMap<>();
+        Map<String, String> titles = new HashMap<>();
+        for (Student s : studentRepository.searchStudents(null, null, null, "ACTIVE", null)) {
+            String grade = s.getGrade() != null ? s.getGrade() : "UNGRADED";
+            String stream = s.getAlStream() != null ? s.getAlStream() : NO_STREAM;
+            String name = "grade-" + grade + "-" + stream;
+            sections.computeIfAbsent(name, k -> new ArrayList<>()).add(s);
+            titles.putIfAbsent(name, "Grade " + grade + " — " + stream);
+        }
+
+        // Submit every section up front; the pool size bounds how many render at once
+        Map<String, Future<byte[]>> rendered = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Student>> section : sections.entrySet()) {
+            String title = titles.get(section.getKey());
+            List<Student> students = section.getValue();
+            rendered.put(section.getKey(),
+                    renderPool.submit(() -> pdfReportService.generateStudentListPdf(students, title)));
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(Deflater.BEST_SPEED); // PDF streams are already compressed
+        try {
+            for (Map.Entry<String, Future<byte[]>> section : rendered.entrySet()) {
+                byte[] pdf = section.getValue().get();
+                zip.putNextEntry(new ZipEntry(section.getKey() + ".pdf"));
+                zip.write(pdf);
+                zip.closeEntry();
+            }
+            zip.finish();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to render report bundle: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Report bundle interrupted", e);
+        } finally {
+            rendered.values().forEach(f -> f.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.sims.server.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache for generated reports and exports, keyed by (report type, filters,
+ * student data version). The version is bumped after every committed student
+ * write, so a cached file is only ever served for data that has not changed
+ * since it was rendered. The key doubles as the ETag, which lets an unchanged
+ * report be answered with 304 before anything is read or rendered.
+ *
+ * A miss is not rendered ahead of the response: the render streams to the client
+ * and into a temporary file at once, and the file joins the cache only after the
+ * render has completed, so the first byte goes out as soon as the renderer writes it.
+ *
+ * A hit is handed to Tomcat's sendfile where the connector offers it (plain HTTP on
+ * the NIO connector): the kernel copies the file to the socket without it passing
+ * through the JVM. Elsewhere (e.g. TLS, which encrypts in user space) the file is
+ * copied through the response stream.
+ */
+@Service
+public class ReportCacheService {
+
+    // Tomcat's sendfile request attributes (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @FunctionalInterface
+    public interface ReportRenderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    private final Path cacheDir;
+    private final long maxBytes;
+    private final long maxAgeMs;
+
+    // Seeded from the clock so files rendered before a restart are never trusted
+    private final AtomicLong dataVersion = new AtomicLong(System.currentTimeMillis());
+
+    // Keys being rendered into the cache; a concurrent miss on the same key streams
+    // its own render to its client without writing a second copy
+    private final ConcurrentHashMap<String, Object> rendering = new ConcurrentHashMap<>();
+
+    public ReportCacheService(@Value("${sims.reports.cache-dir:${java.io.tmpdir}/sims-report-cache}") String cacheDir,
+                              @Value("${sims.reports.cache-max-mb:512}") long maxMb,
+                              @Value("${sims.reports.cache-max-age-hours:24}") long maxAgeHours) throws IOException {
+        this.cacheDir = Files.createDirectories(Paths.get(cacheDir));
+        this.maxBytes = maxMb * 1024 * 1024;
+        this.maxAgeMs = maxAgeHours * 3_600_000;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    /** Cache key for a report at the current data version; also used as its ETag. */
+    public String key(String type, String... filters) {
+        StringBuilder sb = new StringBuilder(type);
+        for (String f : filters) sb.append('|').append(f != null ? f : "");
+        sb.append('|').append(dataVersion.get());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return type + "-" + HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Answers the request from the cache, or streams a fresh render (cached on the way)
+     * on a miss. Returns 304 when the client already holds this version.
+     */
+    public ResponseEntity<StreamingResponseBody> serve(String key, String contentType, String filename,
+                                                       ReportRenderer renderer, HttpServletRequest request)
+            throws IOException {
+        String etag = "\"" + key + "\"";
+        if (new ServletWebRequest(request).checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+
+        // Opened now, so eviction deleting the file mid-download cannot cut the response short
+        FileChannel cached = openCached(key);
+        if (cached != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat sends the file once the handler returns; an empty body leaves the response to it.
+            // The hit has just been marked most recently used, so eviction takes it last.
+            long size;
+            try (FileChannel in = cached) {
+                size = in.size();
+            }
+            request.setAttribute(SENDFILE_FILENAME, cacheDir.resolve(key).toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return ok.contentLength(size).build();
+        }
+        if (cached != null) {
+            return ok.contentLength(cached.size()).body(out -> {
+                try (FileChannel in = cached) {
+                    WritableByteChannel target = Channels.newChannel(out);
+                    long size = in.size();
+                    for (long pos = 0; pos < size; ) pos += in.transferTo(pos, size - pos, target);
+                }
+            });
+        }
+        return ok.body(out -> renderThrough(key, renderer, out));
+    }
+
+    private FileChannel openCached(String key) throws IOException {
+        Path file = cacheDir.resolve(key);
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            // evicted just now; the open channel still reads the whole file
+        }
+        return channel;
+    }
+
+    /** Renders to {@code client}, keeping a copy that is published to the cache only if the render completes. */
+    private void renderThrough(String key, ReportRenderer renderer, OutputStream client) throws IOException {
+        Object claim = new Object();
+        if (rendering.putIfAbsent(key, claim) != null) {
+            renderer.render(client);
+            return;
+        }
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(cacheDir, key, ".part");
+            CacheTee tee = new CacheTee(client, new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024));
+            try {
+                renderer.render(tee);
+            } finally {
+                tee.close();
+            }
+            if (tee.cacheIntact()) Files.move(tmp, cacheDir.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            if (tmp != null) Files.deleteIfExists(tmp);
+            rendering.remove(key, claim);
+        }
+    }
+
+    /** Drops files past the age limit, then the least recently used until under the size limit. */
+    @Scheduled(fixedDelay = 600_000)
+    public void evict() {
+        long now = System.currentTimeMillis();
+        List<Path> kept = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                boolean partial = p.getFileName().toString().endsWith(".part"); // render in progress
+                if (now - Files.getLastModifiedTime(p).toMillis() > maxAgeMs) {
+                    Files.deleteIfExists(p);
+                } else if (!partial) {
+                    kept.add(p);
+                    total += Files.size(p);
+                }
+            }
+            if (total <= maxBytes) return;
+            kept.sort(Comparator.comparingLong(ReportCacheService::lastModified));
+            for (Path p : kept) {
+                if (total <= maxBytes) break;
+                long size = Files.size(p);
+                try {
+                    Files.deleteIfExists(p);
+                    total -= size;
+                } catch (IOException e) {
+                    // still open for a download on a platform that refuses to delete open files
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Report cache eviction failed: " + e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Copies everything written to the client into the cache file. A failing cache
+     * write only stops the copy; the client keeps receiving the render.
+     */
+    private static final class CacheTee extends OutputStream {
+        private final OutputStream client;
+        private final OutputStream cache;
+        private boolean cacheIntact = true;
+
+        CacheTee(OutputStream client, OutputStream cache) {
+            this.client = client;
+            this.cache = cache;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            client.write(b);
+            if (cacheIntact) {
+                try { cache.write(b); } catch (IOException e) { cacheIntact = false; }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            client.write(b, off, len);
+            if (cacheIntact) {
+                try { cache.write(b, off, len); } catch (IOException e) { cacheIntact = false; }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            client.flush();
+        }
+
+        /** Closes the cache copy only; the response stream belongs to the container. */
+        @Override
+        public void close() throws IOException {
+            try { cache.close(); } catch (IOException e) { cacheIntact = false; }
+            client.flush();
+        }
+
+        boolean cacheIntact() {
+            return cacheIntact;
+        }
+    }
+}
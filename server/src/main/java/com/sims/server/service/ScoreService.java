@@ -1,15 +1,12 @@
 package com.sims.server.service;
 
-import com.sims.server.model.OLResult;
 import com.sims.server.model.StreamScoreConfig;
-import com.sims.server.repository.OLResultRepository;
 import com.sims.server.repository.StreamScoreConfigRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class ScoreService {
@@ -18,22 +15,22 @@ public class ScoreService {
             "A", 5, "B", 4, "C", 3, "S", 2, "W", 0
     );
 
-    @Autowired private OLResultRepository olResultRepository;
     @Autowired private StreamScoreConfigRepository scoreConfigRepository;
 
-    public double computeScore(Long studentId, String stream) {
-        List<OLResult> results = olResultRepository.findByStudentId(studentId);
-        List<StreamScoreConfig> configs = scoreConfigRepository.findByStream(stream);
-        Map<String, Double> weights = configs.stream()
-                .collect(Collectors.toMap(StreamScoreConfig::getSubjectCode, StreamScoreConfig::getWeight));
-
-        double total = 0.0;
-        for (OLResult r : results) {
-            int points = GRADE_POINTS.getOrDefault(r.getGrade().toUpperCase(), 0);
-            double weight = weights.getOrDefault(r.getSubject().toUpperCase(), 1.0);
-            total += points * weight;
+    /** Subject code → weight for {@code stream}; subjects without a config weigh 1.0. */
+    public Map<String, Double> weightsFor(String stream) {
+        Map<String, Double> weights = new HashMap<>();
+        for (StreamScoreConfig c : scoreConfigRepository.findByStream(stream)) {
+            weights.put(c.getSubjectCode(), c.getWeight());
         }
-        return total;
+        return weights;
+    }
+
+    /** One result's contribution to a score: grade points × subject weight. */
+    public double points(String subject, String grade, Map<String, Double> weights) {
+        int points = GRADE_POINTS.getOrDefault(grade.toUpperCase(), 0);
+        double weight = weights.getOrDefault(subject.toUpperCase(), 1.0);
+        return points * weight;
     }
 
     public Map<String, Integer> getGradePoints() {
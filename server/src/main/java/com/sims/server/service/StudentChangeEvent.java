@@ -0,0 +1,13 @@
+package com.sims.server.service;
+
+import java.util.Collection;
+
+/**
+ * Published whenever student rows are written — by JPA (see
+ * {@link com.sims.server.model.StudentEntityListener}) or by the bulk import
+ * writer. Listeners that cache student-derived data use it to invalidate.
+ */
+public record StudentChangeEvent(Kind kind, Collection<Long> studentIds) {
+
+    public enum Kind { SAVED, DELETED }
+}
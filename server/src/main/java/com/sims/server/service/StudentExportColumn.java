@@ -0,0 +1,41 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+
+import java.util.function.Function;
+
+/** Columns of the student export, in file order. Headers match the import format. */
+public enum StudentExportColumn {
+
+    ADMISSION_NUMBER("admissionNumber", Student::getAdmissionNumber),
+    NIC_NUMBER("nicNumber", Student::getNicNumber),
+    FULL_NAME("fullName", Student::getFullName),
+    EMAIL("email", Student::getEmail),
+    DATE_OF_BIRTH("dateOfBirth", s -> s.getDateOfBirth() != null ? s.getDateOfBirth().toString() : null),
+    GENDER("gender", Student::getGender),
+    GRADE("grade", Student::getGrade),
+    AL_STREAM("alStream", Student::getAlStream),
+    MEDIUM("medium", Student::getMedium),
+    CONTACT_NUMBER("contactNumber", Student::getContactNumber),
+    WHATSAPP_NUMBER("whatsappNumber", Student::getWhatsappNumber),
+    PARENT_NAME("parentName", Student::getParentName),
+    PARENT_CONTACT_NUMBER("parentContactNumber", Student::getParentContactNumber),
+    ADDRESS("address", Student::getAddress),
+    STUDENT_TYPE("studentType", Student::getStudentType);
+
+    private final String header;
+    private final Function<Student, String> value;
+
+    StudentExportColumn(String header, Function<Student, String> value) {
+        this.header = header;
+        this.value = value;
+    }
+
+    public String header() {
+        return header;
+    }
+
+    public String value(Student student) {
+        return value.apply(student);
+    }
+}
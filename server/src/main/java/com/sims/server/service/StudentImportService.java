@@ -0,0 +1,439 @@
+package com.sims.server.service;
+
+import com.sims.server.dto.ImportResultDTO;
+import com.sims.server.model.ImportCheckpoint;
+import com.sims.server.model.Student;
+import com.sims.server.repository.ImportCheckpointRepository;
+import com.sims.server.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Student CSV / Excel import engine. Each import runs as a three-stage pipeline:
+ * <ol>
+ *   <li>the calling thread parses the file and groups raw rows into batches,</li>
+ *   <li>a shared pool maps and validates batches in parallel,</li>
+ *   <li>one writer thread commits the mapped batches in file order through
+ *       {@link StudentImportWriter}.</li>
+ * </ol>
+ * A bounded queue of in-flight batches between the reader and the writer keeps
+ * memory flat and throttles the reader to whatever the database can absorb.
+ */
+@Service
+public class StudentImportService {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Autowired
+    private StudentImportWriter importWriter;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ImportCheckpointRepository checkpointRepository;
+
+    // Rows per JDBC batch / transaction during imports
+    @Value("${sims.import.chunk-size:500}")
+    private int chunkSize;
+
+    // How long a completed import keeps a re-upload of the same file from running again
+    @Value("${sims.import.checkpoint-ttl-hours:24}")
+    private long checkpointTtlHours;
+
+    private final ExecutorService mappingPool;
+    private final ExecutorService writerPool;
+    private final int queueDepth;
+
+    public StudentImportService(@Value("${sims.import.mapping-threads:0}") int mappingThreads) {
+        int threads = mappingThreads > 0 ? mappingThreads : Runtime.getRuntime().availableProcessors();
+        this.mappingPool = Executors.newFixedThreadPool(threads, daemonThreads("import-map-"));
+        this.writerPool = Executors.newCachedThreadPool(daemonThreads("import-write-"));
+        this.queueDepth = threads * 2;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        mappingPool.shutdownNow();
+        writerPool.shutdownNow();
+    }
+
+    public boolean isSupportedImportFile(String filename) {
+        return ImportFileReader.isSupported(filename);
+    }
+
+    /**
+     * Imports a spooled upload. {@code filename} is the original upload name and
+     * selects the parser; {@code progress} receives running totals and can cancel
+     * the import, in which case a {@link CancellationException} is thrown once the
+     * batch being written has been committed.
+     *
+     * Rows whose admission number already exists are reported as duplicates, or
+     * updated in place when {@code upsert} is set.
+     *
+     * {@code contentHash} identifies the file: a re-upload of a file whose earlier
+     * import was interrupted skips every row already committed and resumes after
+     * the checkpoint. A file imported completely within the last
+     * {@code sims.import.checkpoint-ttl-hours} is not written again; the result says
+     * so with {@code alreadyImported}. {@code restart} ignores the checkpoint and
+     * imports the whole file again, e.g. an upsert after the rows were edited.
+     */
+    public ImportResultDTO importStudents(Path file, String filename, boolean upsert, boolean restart,
+                                          String contentHash, ImportProgress progress) throws Exception {
+        if (!isSupportedImportFile(filename))
+            throw new Exception("Unsupported format. Upload a CSV or Excel file.");
+
+        String key = contentHash + (upsert ? ":upsert" : ":insert");
+        ImportCheckpoint checkpoint = checkpointRepository.findByContentHash(key)
+                .orElseGet(() -> checkpointRepository.save(new ImportCheckpoint(key, filename)));
+        if ("COMPLETED".equals(checkpoint.getStatus()) && !restart && !expired(checkpoint)) {
+            ImportResultDTO result = new ImportResultDTO(0, 0, new ArrayList<>());
+            result.setAlreadyImported(true);
+            result.setResumedFromRow(checkpoint.getLastCommittedRow());
+            return result;
+        }
+        if (restart || "COMPLETED".equals(checkpoint.getStatus())) {
+            importWriter.restartCheckpoint(checkpoint.getId());
+            checkpoint.setLastCommittedRow(0);
+            checkpoint.setStatus("IN_PROGRESS");
+        }
+
+        ImportDuplicateIndex index = new ImportDuplicateIndex(studentRepository.findIdentityKeys());
+        ImportRun run = new ImportRun(index, upsert, progress, checkpoint);
+        try {
+            // Stage 1: the calling thread parses the file and hands rows to the pipeline
+            ImportFileReader.read(file, filename, (rowNum, values) -> {
+                if (!run.hasHeader()) run.header(values); else run.row(rowNum, values);
+            });
+            if (!run.hasHeader()) throw new Exception("Import file has no header row");
+        } catch (Exception e) {
+            run.abort();
+            throw e;
+        }
+        return run.finish();
+    }
+
+    // ── stage 2: mapping / validation ─────────────────────────────────────────
+
+    private MappedBatch mapBatch(RawBatch raw, Map<String, Integer> colIndex) {
+        MappedBatch mapped = new MappedBatch(raw.rowNums.size(), raw.lastRowNum);
+        for (int i = 0; i < raw.rowNums.size(); i++) {
+            int rowNum = raw.rowNums.get(i);
+            try {
+                mapped.students.add(mapRow(raw.lines.get(i), colIndex));
+                mapped.rowNums.add(rowNum);
+            } catch (Exception e) {
+                mapped.errors.add("Row " + rowNum + ": " + e.getMessage());
+            }
+        }
+        return mapped;
+    }
+
+    private Student mapRow(String[] line, Map<String, Integer> colIndex) {
+        Student s = new Student();
+        s.setStudentType("INTERNAL");
+        s.setRegistrationStatus("ACTIVE");
+        s.setAdmissionNumber(required(cell(line, colIndex, "admissionnumber"), "admissionNumber"));
+        s.setFullName(required(cell(line, colIndex, "fullname"), "fullName"));
+        s.setEmail(cell(line, colIndex, "email"));
+        s.setNicNumber(cell(line, colIndex, "nicnumber"));
+        s.setGrade(cell(line, colIndex, "grade"));
+        String alStream = upperOrNull(cell(line, colIndex, "alstream"));
+        if (alStream == null) alStream = upperOrNull(cell(line, colIndex, "stream"));
+        s.setAlStream(alStream);
+        s.setStream(alStream);
+        s.setGender(upperOrNull(cell(line, colIndex, "gender")));
+        s.setMedium(upperOrNull(cell(line, colIndex, "medium")));
+        s.setContactNumber(cell(line, colIndex, "contactnumber"));
+        s.setWhatsappNumber(cell(line, colIndex, "whatsappnumber"));
+        s.setAddress(cell(line, colIndex, "address"));
+        s.setParentName(cell(line, colIndex, "parentname"));
+        s.setParentContactNumber(cell(line, colIndex, "parentcontactnumber"));
+        s.setAlSubjects(splitList(cell(line, colIndex, "alsubjects")));
+        String dob = cell(line, colIndex, "dateofbirth");
+        if (dob != null && !dob.isBlank()) {
+            try { s.setDateOfBirth(LocalDate.parse(dob.trim(), DATE_FMT)); }
+            catch (DateTimeParseException ignored) {}
+        }
+        return s;
+    }
+
+    // ── pipeline ──────────────────────────────────────────────────────────────
+
+    private static class RawBatch {
+        final List<Integer> rowNums = new ArrayList<>();
+        final List<String[]> lines = new ArrayList<>();
+        int lastRowNum;
+    }
+
+    private static class MappedBatch {
+        final List<Student> students;
+        final List<Integer> rowNums;
+        final List<String> errors = new ArrayList<>();
+        final int lastRowNum;
+
+        MappedBatch(int size, int lastRowNum) {
+            students = new ArrayList<>(size);
+            rowNums = new ArrayList<>(size);
+            this.lastRowNum = lastRowNum;
+        }
+    }
+
+    private static final Future<MappedBatch> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+    /**
+     * State of one import. The reader thread calls {@link #header}, {@link #row} and
+     * {@link #finish}; mapped batches are queued as futures in file order, so the
+     * writer only ever waits on the oldest one and commits strictly in sequence.
+     */
+    private class ImportRun {
+        private final ImportDuplicateIndex index;
+        private final boolean upsert;
+        private final ImportProgress progress;
+        private final Long checkpointId;
+        private final int resumeAfterRow;
+        private final BlockingQueue<Future<MappedBatch>> inFlight = new ArrayBlockingQueue<>(queueDepth);
+        private final Future<?> writer;
+        private volatile boolean aborted;
+        private Map<String, Integer> colIndex;
+        private RawBatch current = new RawBatch();
+
+        // Writer-thread state; read by the reader only after the writer has finished
+        private final List<String> errors = new ArrayList<>();
+        private int insertedCount;
+        private int updatedCount;
+        private int duplicateCount;
+        private int conflictCount;
+
+        ImportRun(ImportDuplicateIndex index, boolean upsert, ImportProgress progress,
+                  ImportCheckpoint checkpoint) {
+            this.index = index;
+            this.upsert = upsert;
+            this.progress = progress;
+            this.checkpointId = checkpoint.getId();
+            this.resumeAfterRow = checkpoint.getLastCommittedRow();
+            this.writer = writerPool.submit(this::writeLoop);
+        }
+
+        boolean hasHeader() {
+            return colIndex != null && !colIndex.isEmpty();
+        }
+
+        void header(String[] header) {
+            colIndex = indexHeader(header);
+        }
+
+        void row(int rowNum, String[] line) {
+            if (progress.isCancelled()) throw new CancellationException("Import cancelled at row " + rowNum);
+            if (rowNum <= resumeAfterRow) return; // committed by an earlier attempt
+            current.rowNums.add(rowNum);
+            current.lines.add(line);
+            current.lastRowNum = rowNum;
+            if (current.rowNums.size() >= chunkSize) dispatch();
+        }
+
+        ImportResultDTO finish() throws Exception {
+            dispatch();
+            enqueue(END_OF_INPUT);
+            try {
+                writer.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) throw cause;
+                throw e;
+            }
+            if (progress.isCancelled()) throw new CancellationException("Import cancelled");
+            importWriter.completeCheckpoint(checkpointId);
+            progress.rowsProcessed(successCount(), errors.size());
+            ImportResultDTO result = new ImportResultDTO(successCount(), errors.size(), errors);
+            result.setResumedFromRow(resumeAfterRow);
+            result.setInsertedCount(insertedCount);
+            result.setUpdatedCount(updatedCount);
+            result.setDuplicateCount(duplicateCount);
+            result.setConflictCount(conflictCount);
+            return result;
+        }
+
+        private int successCount() {
+            return insertedCount + updatedCount;
+        }
+
+        /** Stops the writer after the batch it is currently committing and discards the rest. */
+        void abort() {
+            aborted = true;
+            inFlight.clear();
+            inFlight.offer(END_OF_INPUT);
+            try {
+                writer.get();
+            } catch (Exception ignored) {}
+        }
+
+        private void dispatch() {
+            if (current.rowNums.isEmpty()) return;
+            RawBatch batch = current;
+            Map<String, Integer> columns = colIndex;
+            current = new RawBatch();
+            enqueue(mappingPool.submit(() -> mapBatch(batch, columns)));
+        }
+
+        private void enqueue(Future<MappedBatch> batch) {
+            try {
+                while (!inFlight.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                    if (writer.isDone()) throw new IllegalStateException("Import writer stopped unexpectedly");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Import interrupted");
+            }
+        }
+
+        // ── stage 3: ordered writer ──
+
+        private Void writeLoop() throws Exception {
+            while (true) {
+                Future<MappedBatch> next = inFlight.take();
+                if (next == END_OF_INPUT) return null;
+                if (aborted || progress.isCancelled()) continue;
+                write(next.get());
+                progress.rowsProcessed(successCount(), errors.size());
+            }
+        }
+
+        private void write(MappedBatch batch) {
+            batch.errors.forEach(this::fail);
+
+            // Classify against the duplicate index before touching the database
+            List<Student> inserts = new ArrayList<>();
+            List<Student> updates = new ArrayList<>();
+            List<Student> writable = new ArrayList<>();
+            Map<Student, Integer> rowOf = new IdentityHashMap<>();
+            for (int i = 0; i < batch.students.size(); i++) {
+                Student s = batch.students.get(i);
+                int rowNum = batch.rowNums.get(i);
+                ImportDuplicateIndex.Verdict verdict =
+                        index.classify(rowNum, s.getAdmissionNumber(), s.getNicNumber(), upsert);
+                switch (verdict.outcome()) {
+                    case INSERT -> {
+                        inserts.add(s);
+                        writable.add(s);
+                    }
+                    case UPDATE -> {
+                        s.setId(verdict.existingId());
+                        updates.add(s);
+                        writable.add(s);
+                    }
+                    case DUPLICATE -> {
+                        duplicateCount++;
+                        fail("Row " + rowNum + ": " + verdict.reason());
+                    }
+                    case CONFLICT -> {
+                        conflictCount++;
+                        fail("Row " + rowNum + ": " + verdict.reason());
+                    }
+                }
+                rowOf.put(s, rowNum);
+            }
+            if (writable.isEmpty()) {
+                importWriter.advanceCheckpoint(checkpointId, batch.lastRowNum);
+                return;
+            }
+
+            try {
+                importWriter.writeChunk(inserts, updates, checkpointId, batch.lastRowNum);
+                insertedCount += inserts.size();
+                updatedCount += updates.size();
+            } catch (RuntimeException chunkFailure) {
+                // Replay row by row, in file order, so the error report still names the
+                // offending rows and the checkpoint never skips past an unwritten row
+                Set<Student> insertSet = Collections.newSetFromMap(new IdentityHashMap<>());
+                insertSet.addAll(inserts);
+                for (Student s : writable) {
+                    if (insertSet.contains(s)) {
+                        s.setId(null);
+                        writeSingle(s, rowOf.get(s), List.of(s), List.of());
+                    } else {
+                        writeSingle(s, rowOf.get(s), List.of(), List.of(s));
+                    }
+                }
+                importWriter.advanceCheckpoint(checkpointId, batch.lastRowNum);
+            }
+        }
+
+        private void writeSingle(Student s, int rowNum, List<Student> insert, List<Student> update) {
+            try {
+                importWriter.writeChunk(insert, update, checkpointId, rowNum);
+                if (insert.isEmpty()) updatedCount++; else insertedCount++;
+            } catch (RuntimeException e) {
+                index.release(s.getAdmissionNumber(), s.getNicNumber());
+                fail("Row " + rowNum + ": " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+
+        private void fail(String error) {
+            errors.add(error);
+            progress.rowFailed(error);
+        }
+    }
+
+    // ── helpers ───────────────────────────────────────────────────────────────
+
+    private boolean expired(ImportCheckpoint checkpoint) {
+        LocalDateTime finished = checkpoint.getUpdatedAt() != null ? checkpoint.getUpdatedAt() : checkpoint.getCreatedAt();
+        return finished.isBefore(LocalDateTime.now().minusHours(checkpointTtlHours));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNo = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private String cell(String[] line, Map<String, Integer> colIndex, String key) {
+        Integer idx = colIndex.get(key);
+        if (idx == null || idx >= line.length || line[idx] == null) return null;
+        String v = line[idx].trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private Map<String, Integer> indexHeader(String[] header) {
+        Map<String, Integer> colIndex = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != null && !header[i].isBlank())
+                colIndex.put(header[i].trim().toLowerCase().replace(" ", ""), i);
+        }
+        return colIndex;
+    }
+
+    private String required(String value, String field) {
+        if (value == null || value.isBlank())
+            throw new IllegalArgumentException(field + " is required");
+        return value;
+    }
+
+    private List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value == null) return items;
+        for (String item : value.split("[;|]")) {
+            if (!item.isBlank()) items.add(item.trim().toUpperCase());
+        }
+        return items;
+    }
+
+    private String upperOrNull(String value) {
+        return value != null ? value.toUpperCase() : null;
+    }
+}
@@ -0,0 +1,226 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk write path for student imports. Student ids are IDENTITY-generated, which
+ * disables Hibernate's JDBC batching, so imports go through plain JDBC batches
+ * instead (rewritten into multi-row INSERTs by Connector/J).
+ */
+@Service
+public class StudentImportWriter {
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (admission_number, full_name, date_of_birth, gender, address, " +
+            "contact_number, whatsapp_number, email, nic_number, grade, al_stream, medium, " +
+            "parent_name, parent_contact_number, al_application_status, student_type, " +
+            "registration_status, rejection_reason, stream, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Upsert imports only overwrite the columns the file actually filled in
+    private static final String UPDATE_STUDENT =
+            "UPDATE students SET full_name = ?, " +
+            "date_of_birth = COALESCE(?, date_of_birth), gender = COALESCE(?, gender), " +
+            "address = COALESCE(?, address), contact_number = COALESCE(?, contact_number), " +
+            "whatsapp_number = COALESCE(?, whatsapp_number), email = COALESCE(?, email), " +
+            "nic_number = COALESCE(?, nic_number), grade = COALESCE(?, grade), " +
+            "al_stream = COALESCE(?, al_stream), stream = COALESCE(?, stream), " +
+            "medium = COALESCE(?, medium), parent_name = COALESCE(?, parent_name), " +
+            "parent_contact_number = COALESCE(?, parent_contact_number) " +
+            "WHERE id = ?";
+
+    private static final String INSERT_AL_SUBJECT =
+            "INSERT INTO student_al_subjects (student_id, subject) VALUES (?, ?)";
+
+    private static final String DELETE_AL_SUBJECTS =
+            "DELETE FROM student_al_subjects WHERE student_id = ?";
+
+    private static final String ADVANCE_CHECKPOINT =
+            "UPDATE import_checkpoints SET last_committed_row = GREATEST(last_committed_row, ?), " +
+            "updated_at = ? WHERE id = ?";
+
+    private static final String RESTART_CHECKPOINT =
+            "UPDATE import_checkpoints SET status = 'IN_PROGRESS', last_committed_row = 0, updated_at = ? WHERE id = ?";
+
+    private static final String COMPLETE_CHECKPOINT =
+            "UPDATE import_checkpoints SET status = 'COMPLETED', updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private AdmissionRollupService admissionRollupService;
+
+    /**
+     * Inserts new students and updates existing ones (matched by id) in one
+     * transaction, together with their A/L subjects, and advances the import's
+     * checkpoint to {@code lastRow} in the same transaction. Any failure rolls back
+     * the whole chunk; generated ids are written back onto the inserted entities.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeChunk(List<Student> inserts, List<Student> updates, Long checkpointId, int lastRow) {
+        if (checkpointId != null) advanceCheckpoint(checkpointId, lastRow);
+        List<Object[]> subjectRows = new ArrayList<>();
+        if (!inserts.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            for (Student s : inserts) s.setCreatedAt(now);
+            insertStudents(inserts);
+            for (Student s : inserts) addSubjectRows(s, subjectRows);
+            admissionRollupService.record(AdmissionRollupService.Event.CREATED, inserts, now);
+        }
+        if (!updates.isEmpty()) {
+            updateStudents(updates);
+            // A/L subjects are replaced only when the file lists them
+            List<Object[]> cleared = new ArrayList<>();
+            for (Student s : updates) {
+                if (s.getAlSubjects() == null || s.getAlSubjects().isEmpty()) continue;
+                cleared.add(new Object[]{s.getId()});
+                addSubjectRows(s, subjectRows);
+            }
+            if (!cleared.isEmpty()) jdbcTemplate.batchUpdate(DELETE_AL_SUBJECTS, cleared);
+        }
+        if (!subjectRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_AL_SUBJECT, subjectRows);
+        }
+        publishChange(inserts, updates);
+    }
+
+    /** Records rows that were rejected without any write (e.g. validation errors) as settled. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void advanceCheckpoint(Long checkpointId, int lastRow) {
+        jdbcTemplate.update(ADVANCE_CHECKPOINT, lastRow, LocalDateTime.now(), checkpointId);
+    }
+
+    /** Rewinds a checkpoint to the start of the file, so every row is imported again. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void restartCheckpoint(Long checkpointId) {
+        jdbcTemplate.update(RESTART_CHECKPOINT, LocalDateTime.now(), checkpointId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void completeCheckpoint(Long checkpointId) {
+        jdbcTemplate.update(COMPLETE_CHECKPOINT, LocalDateTime.now(), checkpointId);
+    }
+
+    // Plain JDBC bypasses the entity listener and Hibernate's events, so announce the written rows here
+    private void publishChange(List<Student> inserts, List<Student> updates) {
+        if (inserts.isEmpty() && updates.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(inserts.size() + updates.size());
+        for (Student s : inserts) ids.add(s.getId());
+        for (Student s : updates) ids.add(s.getId());
+        publisher.publishEvent(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, ids));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                studentStatsService.markStale();
+            }
+        });
+    }
+
+    private void insertStudents(List<Student> students) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_STUDENT, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bindStudent(ps, students.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return students.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < students.size(); i++) {
+            students.get(i).setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private void updateStudents(List<Student> students) {
+        jdbcTemplate.batchUpdate(UPDATE_STUDENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Student s = students.get(i);
+                ps.setString(1, s.getFullName());
+                ps.setObject(2, s.getDateOfBirth());
+                ps.setString(3, s.getGender());
+                ps.setString(4, s.getAddress());
+                ps.setString(5, s.getContactNumber());
+                ps.setString(6, s.getWhatsappNumber());
+                ps.setString(7, s.getEmail());
+                ps.setString(8, s.getNicNumber());
+                ps.setString(9, s.getGrade());
+                ps.setString(10, s.getAlStream());
+                ps.setString(11, s.getStream());
+                ps.setString(12, s.getMedium());
+                ps.setString(13, s.getParentName());
+                ps.setString(14, s.getParentContactNumber());
+                ps.setLong(15, s.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return students.size();
+            }
+        });
+    }
+
+    private void addSubjectRows(Student s, List<Object[]> subjectRows) {
+        if (s.getAlSubjects() == null) return;
+        for (String subject : s.getAlSubjects()) {
+            subjectRows.add(new Object[]{s.getId(), subject});
+        }
+    }
+
+    private void bindStudent(PreparedStatement ps, Student s) throws SQLException {
+        ps.setString(1, s.getAdmissionNumber());
+        ps.setString(2, s.getFullName());
+        ps.setObject(3, s.getDateOfBirth());
+        ps.setString(4, s.getGender());
+        ps.setString(5, s.getAddress());
+        ps.setString(6, s.getContactNumber());
+        ps.setString(7, s.getWhatsappNumber());
+        ps.setString(8, s.getEmail());
+        ps.setString(9, s.getNicNumber());
+        ps.setString(10, s.getGrade());
+        ps.setString(11, s.getAlStream());
+        ps.setString(12, s.getMedium());
+        ps.setString(13, s.getParentName());
+        ps.setString(14, s.getParentContactNumber());
+        ps.setString(15, s.getAlApplicationStatus());
+        ps.setString(16, s.getStudentType());
+        ps.setString(17, s.getRegistrationStatus());
+        ps.setString(18, s.getRejectionReason());
+        ps.setString(19, s.getStream());
+        ps.setObject(20, s.getCreatedAt());
+    }
+}
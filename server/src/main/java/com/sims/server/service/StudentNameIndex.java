@@ -0,0 +1,215 @@
+package com.sims.server.service;
+
+import com.sims.server.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fuzzy, transliteration-tolerant lookup over student full name and parent name.
+ *
+ * Each name is split into words and every word reduced to a {@link PhoneticKey}.
+ * Distinct keys live in a {@link BkTree}, so a query word finds every key within
+ * a small edit distance without comparing against all of them; each key's posting
+ * list then names the students (and which of their two names) that contain it.
+ * Students are ranked by how closely their name matches all the query words.
+ *
+ * Built once the application is ready and kept current from
+ * {@link StudentChangeEvent}s, like {@link StudentSearchIndex}, including the
+ * replay of changes committed while it is being built; until then
+ * {@link #search} returns null.
+ */
+@Service
+public class StudentNameIndex {
+
+    public record Match(long studentId, double score, String matchedOn) {}
+
+    private static final int FULL_NAME = 0;
+    private static final int PARENT_NAME = 1;
+    private static final String[] FIELDS = {"fullName", "parentName"};
+
+    // A parent-name match ranks below an equally close match on the student's own name
+    private static final double PARENT_WEIGHT = 0.9;
+
+    // Best score below which a student is not reported at all
+    private static final double MIN_SCORE = 0.5;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<String>[]> keysByStudent = new HashMap<>();
+    // Posting entries are (studentId << 1 | field), so one list covers both names
+    private final Map<String, IdList> postings = new HashMap<>();
+    private BkTree keys = new BkTree();
+    private final PendingChanges pending = new PendingChanges();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        pending.startBuild();
+        try {
+            List<Object[]> rows = studentRepository.findNameKeys();
+            lock.writeLock().lock();
+            try {
+                keysByStudent.clear();
+                postings.clear();
+                keys = new BkTree();
+                for (Object[] row : rows) {
+                    long id = (Long) row[0];
+                    List<String>[] k = keysOf(row);
+                    keysByStudent.put(id, k);
+                    for (int f = 0; f < k.length; f++) {
+                        for (String key : k[f]) {
+                            postings.computeIfAbsent(key, x -> new IdList()).append(id << 1 | f);
+                            keys.add(key);
+                        }
+                    }
+                }
+                postings.values().forEach(IdList::sort);
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Students written while the snapshot was read may be missing or stale in it
+            for (Set<Long> changed = pending.drainOrFinish(); !changed.isEmpty(); changed = pending.drainOrFinish()) {
+                List<Long> ids = new ArrayList<>(changed);
+                for (int i = 0; i < ids.size(); i += 1000) {
+                    List<Long> slice = ids.subList(i, Math.min(i + 1000, ids.size()));
+                    refresh(slice, studentRepository.findNameKeysByIdIn(slice));
+                }
+            }
+            System.out.println("[StudentNameIndex] Indexed " + rows.size() + " students, "
+                    + keys.size() + " phonetic keys");
+        } catch (RuntimeException e) {
+            pending.abandonBuild();
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        if (pending.holdIfBuilding(event.studentIds())) return;
+        if (!ready) return; // not built yet; the startup rebuild reads current data
+        refresh(event.studentIds(), event.kind() == StudentChangeEvent.Kind.SAVED
+                ? studentRepository.findNameKeysByIdIn(event.studentIds())
+                : List.of());
+    }
+
+    /** Replaces the entries of {@code ids} with {@code rows}; ids without a row are dropped. */
+    private void refresh(Collection<Long> ids, List<Object[]> rows) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) remove(id);
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                List<String>[] k = keysOf(row);
+                keysByStudent.put(id, k);
+                for (int f = 0; f < k.length; f++) {
+                    for (String key : k[f]) {
+                        postings.computeIfAbsent(key, x -> new IdList()).insert(id << 1 | f);
+                        keys.add(key);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Students whose full name or parent name sounds like {@code q}, best match
+     * first, at most {@code limit} of them; null while the index is not built yet.
+     */
+    public List<Match> search(String q, int limit) {
+        if (!ready) return null;
+        List<String> queryKeys = PhoneticKey.ofName(q);
+        if (queryKeys.isEmpty() || limit <= 0) return List.of();
+        int words = queryKeys.size();
+
+        // Best similarity per (student, field, query word)
+        Map<Long, double[]> best = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int w = 0; w < words; w++) {
+                String qk = queryKeys.get(w);
+                int word = w;
+                keys.search(qk, tolerance(qk), (key, distance) -> {
+                    IdList list = postings.get(key);
+                    if (list == null) return; // key no longer used by any student
+                    double similarity = 1.0 - (double) distance / Math.max(qk.length(), key.length());
+                    for (int i = 0; i < list.size; i++) {
+                        long entry = list.ids[i];
+                        double[] s = best.computeIfAbsent(entry >>> 1, x -> new double[2 * words]);
+                        int slot = (int) (entry & 1) * words + word;
+                        if (similarity > s[slot]) s[slot] = similarity;
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Keep the top `limit` in a min-heap rather than sorting every candidate
+        Comparator<Match> rank = Comparator.comparingDouble(Match::score)
+                .thenComparing(Match::studentId, Comparator.reverseOrder());
+        PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, rank);
+        for (Map.Entry<Long, double[]> e : best.entrySet()) {
+            double[] s = e.getValue();
+            double name = mean(s, FULL_NAME * words, words);
+            double parent = mean(s, PARENT_NAME * words, words) * PARENT_WEIGHT;
+            double score = Math.max(name, parent);
+            if (score < MIN_SCORE) continue;
+            top.add(new Match(e.getKey(), score, FIELDS[name >= parent ? FULL_NAME : PARENT_NAME]));
+            if (top.size() > limit) top.poll();
+        }
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(rank.reversed());
+        return ranked;
+    }
+
+    private void remove(long id) {
+        List<String>[] old = keysByStudent.remove(id);
+        if (old == null) return;
+        for (int f = 0; f < old.length; f++) {
+            for (String key : old[f]) {
+                IdList list = postings.get(key);
+                if (list != null && list.remove(id << 1 | f) && list.size == 0) postings.remove(key);
+            }
+        }
+    }
+
+    // ── helpers ───────────────────────────────────────────────────────────────
+
+    /** Edit distance allowed for a query key: exact for short words, more for long ones. */
+    private static int tolerance(String key) {
+        if (key.length() <= 3) return 0;
+        return key.length() <= 6 ? 1 : 2;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] keysOf(Object[] row) {
+        return new List[]{
+                distinct(PhoneticKey.ofName((String) row[1])),
+                distinct(PhoneticKey.ofName((String) row[2]))
+        };
+    }
+
+    private static List<String> distinct(List<String> keys) {
+        return keys.size() < 2 ? keys : new ArrayList<>(new LinkedHashSet<>(keys));
+    }
+
+    private static double mean(double[] values, int from, int count) {
+        double sum = 0;
+        for (int i = from; i < from + count; i++) sum += values[i];
+        return sum / count;
+    }
+}
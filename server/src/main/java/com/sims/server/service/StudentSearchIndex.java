@@ -0,0 +1,169 @@
+package com.sims.server.service;
+
+import com.sims.server.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over student full name, admission number and NIC,
+ * answering the {@code q} substring search without a LIKE '%q%' table scan.
+ *
+ * Every field is lower-cased and split into overlapping 3-character grams; a
+ * query's grams are intersected smallest-posting-list first and the survivors
+ * are confirmed with a real substring check, so results match the old LIKE
+ * semantics. The index is built once the application is ready and kept current
+ * from {@link StudentChangeEvent}s; changes committed while it is being built are
+ * replayed once the build is done. {@link #search} returns null until then, and
+ * for queries shorter than one trigram, and callers fall back to the database.
+ */
+@Service
+public class StudentSearchIndex {
+
+    private static final int GRAM = 3;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String[]> fields = new HashMap<>();
+    private final Map<String, IdList> postings = new HashMap<>();
+    private final PendingChanges pending = new PendingChanges();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        pending.startBuild();
+        try {
+            List<Object[]> rows = studentRepository.findSearchKeys();
+            lock.writeLock().lock();
+            try {
+                fields.clear();
+                postings.clear();
+                for (Object[] row : rows) {
+                    long id = (Long) row[0];
+                    String[] f = normalize(row);
+                    fields.put(id, f);
+                    for (String gram : grams(f)) postings.computeIfAbsent(gram, k -> new IdList()).append(id);
+                }
+                postings.values().forEach(IdList::sort);
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Students written while the snapshot was read may be missing or stale in it
+            for (Set<Long> changed = pending.drainOrFinish(); !changed.isEmpty(); changed = pending.drainOrFinish()) {
+                List<Long> ids = new ArrayList<>(changed);
+                for (int i = 0; i < ids.size(); i += 1000) {
+                    List<Long> slice = ids.subList(i, Math.min(i + 1000, ids.size()));
+                    refresh(slice, studentRepository.findSearchKeysByIdIn(slice));
+                }
+            }
+            System.out.println("[StudentSearchIndex] Indexed " + rows.size() + " students, "
+                    + postings.size() + " trigrams");
+        } catch (RuntimeException e) {
+            pending.abandonBuild();
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStudentChange(StudentChangeEvent event) {
+        if (pending.holdIfBuilding(event.studentIds())) return;
+        if (!ready) return; // not built yet; the startup rebuild reads current data
+        refresh(event.studentIds(), event.kind() == StudentChangeEvent.Kind.SAVED
+                ? studentRepository.findSearchKeysByIdIn(event.studentIds())
+                : List.of());
+    }
+
+    /** Replaces the entries of {@code ids} with {@code rows}; ids without a row are dropped. */
+    private void refresh(Collection<Long> ids, List<Object[]> rows) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) remove(id);
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                String[] f = normalize(row);
+                fields.put(id, f);
+                for (String gram : grams(f)) postings.computeIfAbsent(gram, k -> new IdList()).insert(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of students whose full name, admission number or NIC contains {@code q}
+     * (case-insensitive). Null while the index is not built yet, and for queries
+     * shorter than three characters, which match nearly everyone and are better
+     * filtered and paged by the database.
+     */
+    public List<Long> search(String q) {
+        if (!ready) return null;
+        String needle = q.trim().toLowerCase(Locale.ROOT);
+        if (needle.length() < GRAM) return null;
+        List<Long> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<IdList> lists = new ArrayList<>();
+            for (String gram : grams(new String[]{needle})) {
+                IdList list = postings.get(gram);
+                if (list == null) return matches;
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(l -> l.size));
+            IdList smallest = lists.get(0);
+            for (int i = 0; i < smallest.size; i++) {
+                long id = smallest.ids[i];
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) inAll = lists.get(j).contains(id);
+                if (inAll && contains(fields.get(id), needle)) matches.add(id);
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(long id) {
+        String[] old = fields.remove(id);
+        if (old == null) return;
+        for (String gram : grams(old)) {
+            IdList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) postings.remove(gram);
+        }
+    }
+
+    // ── helpers ───────────────────────────────────────────────────────────────
+
+    private static String[] normalize(Object[] row) {
+        String[] f = new String[row.length - 1];
+        for (int i = 1; i < row.length; i++) {
+            f[i - 1] = row[i] != null ? ((String) row[i]).toLowerCase(Locale.ROOT) : "";
+        }
+        return f;
+    }
+
+    private static Set<String> grams(String[] values) {
+        Set<String> grams = new HashSet<>();
+        for (String v : values) {
+            for (int i = 0; i + GRAM <= v.length(); i++) grams.add(v.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static boolean contains(String[] values, String needle) {
+        for (String v : values) {
+            if (v.contains(needle)) return true;
+        }
+        return false;
+    }
+}
@@ -1,48 +1,192 @@
 package com.sims.server.service;
 
-import com.opencsv.CSVReader;
-import com.sims.server.dto.ImportResultDTO;
+import com.sims.server.dto.StudentListItemDTO;
+import com.sims.server.dto.StudentMatchDTO;
+import com.sims.server.dto.StudentPageDTO;
 import com.sims.server.model.Student;
 import com.sims.server.repository.OLResultRepository;
 import com.sims.server.repository.StudentRepository;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.sims.server.repository.StudentSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 public class StudentService {
 
+    private static final StudentExportColumn[] EXPORT_COLUMNS = StudentExportColumn.values();
+
+    // Rows of an .xlsx export held in memory before being flushed to the temp file
+    private static final int XLSX_ROW_WINDOW = 100;
+
+    // Largest index match list handed to a page query as an id IN list
+    private static final int MAX_PAGE_CANDIDATES = 1000;
+
     @Autowired
     private StudentRepository studentRepository;
 
     @Autowired
     private OLResultRepository olResultRepository;
 
-    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    @Autowired
+    private PdfReportService pdfReportService;
+
+    @Autowired
+    private AdmissionRollupService admissionRollupService;
+
+    @Autowired
+    private StudentSearchIndex searchIndex;
+
+    @Autowired
+    private StudentNameIndex nameIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${sims.students.default-page-size:50}")
+    private int defaultPageSize;
 
-    public List<Student> getAllStudents(String q, String grade, String stream) {
+    @Value("${sims.students.max-page-size:200}")
+    private int maxPageSize;
+
+    public List<StudentListItemDTO> getAllStudents(String q, String grade, String stream) {
         return getAllStudents(q, grade, stream, null, null);
     }
 
-    public List<Student> getAllStudents(String q, String grade, String alStream,
-                                        String registrationStatus, String studentType) {
-        if (q != null || grade != null || alStream != null
+    /** Matching students as list items; every list is two queries however many rows it has. */
+    public List<StudentListItemDTO> getAllStudents(String q, String grade, String alStream,
+                                                   String registrationStatus, String studentType) {
+        List<StudentListItemDTO> items;
+        List<Long> candidates = q != null ? searchIndex.search(q) : null;
+        if (candidates != null) {
+            // Slice the id list so the IN clause stays a reasonable size
+            items = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i += 1000) {
+                items.addAll(studentRepository.filterStudentItems(
+                        candidates.subList(i, Math.min(i + 1000, candidates.size())),
+                        grade, alStream, registrationStatus, studentType));
+            }
+        } else if (q != null || grade != null || alStream != null
                 || registrationStatus != null || studentType != null) {
-            return studentRepository.searchStudents(q, grade, alStream, registrationStatus, studentType);
+            items = studentRepository.searchStudentItems(q, grade, alStream, registrationStatus, studentType);
+        } else {
+            items = studentRepository.findAllItems();
+        }
+        attachAlSubjects(items);
+        return items;
+    }
+
+    /**
+     * One page of students, ordered by {@code sort} then id. {@code cursor} is the
+     * {@code nextCursor} of the previous page; it is only valid with the same sort
+     * and direction. {@code limit} is capped at {@code sims.students.max-page-size}.
+     */
+    public StudentPageDTO getStudentPage(String q, String grade, String alStream,
+                                         String registrationStatus, String studentType,
+                                         String sort, String direction, Integer limit, String cursor) {
+        StudentSort order = StudentSort.fromParam(sort);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        int pageSize = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxPageSize);
+
+        String afterKey = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            if (!parts[0].equals(order.param()) || descending != "desc".equals(parts[1]))
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            afterId = Long.parseLong(parts[2]);
+            afterKey = parts.length == 4 ? parts[3] : null;
+            if (afterKey == null && !order.nullable()) throw new IllegalArgumentException("Invalid cursor");
         }
-        return studentRepository.findAll();
+
+        // Fetch one extra row to learn whether another page follows. A substring so common
+        // that it matches thousands of students is filtered by the database, not a huge IN list.
+        List<Long> candidates = q != null ? searchIndex.search(q) : null;
+        if (candidates != null && candidates.size() > MAX_PAGE_CANDIDATES) candidates = null;
+        List<StudentListItemDTO> rows = candidates != null && candidates.isEmpty()
+                ? new ArrayList<>()
+                : studentRepository.findPage(q, candidates, grade, alStream, registrationStatus, studentType,
+                        order, descending, afterKey, afterId, pageSize + 1);
+        StudentPageDTO page = new StudentPageDTO();
+        page.setSort(order.param());
+        page.setDirection(descending ? "desc" : "asc");
+        page.setLimit(pageSize);
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            StudentListItemDTO last = rows.get(pageSize - 1);
+            page.setNextCursor(encodeCursor(order.param(), descending ? "desc" : "asc",
+                    last.getId(), order.keyOf(last)));
+        }
+        attachAlSubjects(rows);
+        page.setItems(rows);
+        return page;
     }
 
+    /**
+     * Students whose full name or parent name sounds like {@code q}, best match first,
+     * so differently transliterated spellings ("Chathurika" / "Chaturika") still match.
+     * Filters apply to the ranked matches; until the name index is built this falls
+     * back to the plain substring search with a score of 1.
+     */
+    public List<StudentMatchDTO> fuzzySearchStudents(String q, String grade, String alStream,
+                                                     String registrationStatus, String studentType,
+                                                     Integer limit) {
+        int max = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxPageSize);
+        boolean filtered = grade != null || alStream != null || registrationStatus != null || studentType != null;
+
+        // Over-fetch when filtering so filtered-out matches do not leave the list short
+        List<StudentNameIndex.Match> matches = nameIndex.search(q, filtered ? max * 10 : max);
+        List<StudentMatchDTO> result = new ArrayList<>();
+        if (matches == null) {
+            for (StudentListItemDTO item : getAllStudents(q, grade, alStream, registrationStatus, studentType)) {
+                if (result.size() == max) break;
+                result.add(new StudentMatchDTO(item, 1.0, "fullName"));
+            }
+            return result;
+        }
+        if (matches.isEmpty()) return result;
+
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (StudentNameIndex.Match m : matches) ids.add(m.studentId());
+        Map<Long, StudentListItemDTO> items = new HashMap<>();
+        for (StudentListItemDTO item : studentRepository.filterStudentItems(
+                ids, grade, alStream, registrationStatus, studentType)) {
+            items.put(item.getId(), item);
+        }
+        for (StudentNameIndex.Match m : matches) {
+            StudentListItemDTO item = items.get(m.studentId());
+            if (item == null) continue;
+            result.add(new StudentMatchDTO(item, m.score(), m.matchedOn()));
+            if (result.size() == max) break;
+        }
+        attachAlSubjects(result.stream().map(StudentMatchDTO::getStudent).toList());
+        return result;
+    }
+
+    /**
+     * Approves an application. Only a student that was not already ACTIVE counts as
+     * an approval in the admission rollups and gets a new approval time, so a
+     * repeated request does not count twice.
+     */
     @Transactional
     public Student approveStudent(Long id, String admissionNumber) {
         Student student = studentRepository.findById(id)
@@ -53,153 +197,51 @@ public class StudentService {
                 "Cannot approve: student has only " + olCount + "/9 O/L results recorded. " +
                 "All 9 subjects are required before approval.");
         }
+        boolean wasActive = "ACTIVE".equals(student.getRegistrationStatus());
         student.setRegistrationStatus("ACTIVE");
         student.setAdmissionNumber(admissionNumber);
         student.setRejectionReason(null);
+        if (!wasActive) {
+            student.setApprovedAt(LocalDateTime.now());
+            admissionRollupService.record(AdmissionRollupService.Event.APPROVED, student, student.getApprovedAt());
+        }
         return studentRepository.save(student);
     }
 
+    /**
+     * Rejects an application. As with approvals, only a student that was not
+     * already REJECTED is counted and stamped; a repeat just updates the reason.
+     */
     @Transactional
     public Student rejectStudent(Long id, String reason) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found: " + id));
+        boolean wasRejected = "REJECTED".equals(student.getRegistrationStatus());
         student.setRegistrationStatus("REJECTED");
         student.setRejectionReason(reason);
-        return studentRepository.save(student);
-    }
-
-    public ImportResultDTO importStudents(MultipartFile file) throws Exception {
-        String filename = file.getOriginalFilename();
-        if (filename == null) throw new Exception("Invalid file");
-
-        if (filename.endsWith(".csv")) {
-            return importCsv(file);
-        } else if (filename.endsWith(".xlsx") || filename.endsWith(".xls")) {
-            return importExcel(file);
-        } else {
-            throw new Exception("Unsupported format. Upload a CSV or Excel file.");
+        if (!wasRejected) {
+            student.setRejectedAt(LocalDateTime.now());
+            admissionRollupService.record(AdmissionRollupService.Event.REJECTED, student, student.getRejectedAt());
         }
+        return studentRepository.save(student);
     }
 
-    private ImportResultDTO importCsv(MultipartFile file) throws Exception {
-        int successCount = 0;
-        int errorCount = 0;
-        List<String> errors = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
-             CSVReader csvReader = new CSVReader(reader)) {
-
-            String[] header = csvReader.readNext();
-            if (header == null) throw new Exception("CSV file is empty");
-
-            Map<String, Integer> colIndex = new HashMap<>();
-            for (int i = 0; i < header.length; i++) {
-                colIndex.put(header[i].trim().toLowerCase().replace(" ", ""), i);
-            }
-
-            String[] line;
-            int rowNum = 1;
-            while ((line = csvReader.readNext()) != null) {
-                rowNum++;
-                try {
-                    Student student = mapCsvRow(line, colIndex);
-                    studentRepository.save(student);
-                    successCount++;
-                } catch (Exception e) {
-                    errorCount++;
-                    errors.add("Row " + rowNum + ": " + e.getMessage());
-                }
-            }
-        }
-        return new ImportResultDTO(successCount, errorCount, errors);
-    }
-
-    private Student mapCsvRow(String[] line, Map<String, Integer> colIndex) {
-        Student s = new Student();
-        s.setStudentType("INTERNAL");
-        s.setRegistrationStatus("ACTIVE");
-        s.setAdmissionNumber(required(cell(line, colIndex, "admissionnumber"), "admissionNumber"));
-        s.setFullName(required(cell(line, colIndex, "fullname"), "fullName"));
-        s.setEmail(cell(line, colIndex, "email"));
-        s.setNicNumber(cell(line, colIndex, "nicnumber"));
-        s.setGrade(cell(line, colIndex, "grade"));
-        String alStream = upperOrNull(cell(line, colIndex, "alstream"));
-        if (alStream == null) alStream = upperOrNull(cell(line, colIndex, "stream"));
-        s.setAlStream(alStream);
-        s.setStream(alStream);
-        s.setGender(upperOrNull(cell(line, colIndex, "gender")));
-        s.setMedium(upperOrNull(cell(line, colIndex, "medium")));
-        s.setContactNumber(cell(line, colIndex, "contactnumber"));
-        s.setWhatsappNumber(cell(line, colIndex, "whatsappnumber"));
-        s.setAddress(cell(line, colIndex, "address"));
-        s.setParentName(cell(line, colIndex, "parentname"));
-        s.setParentContactNumber(cell(line, colIndex, "parentcontactnumber"));
-        String dob = cell(line, colIndex, "dateofbirth");
-        if (dob != null && !dob.isBlank()) {
-            try { s.setDateOfBirth(LocalDate.parse(dob.trim(), DATE_FMT)); }
-            catch (DateTimeParseException ignored) {}
-        }
-        return s;
-    }
-
-    private ImportResultDTO importExcel(MultipartFile file) throws Exception {
-        int successCount = 0;
-        int errorCount = 0;
-        List<String> errors = new ArrayList<>();
-
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) throw new Exception("Excel file is empty");
-
-            Map<String, Integer> colIndex = new HashMap<>();
-            for (Cell cell : headerRow) {
-                colIndex.put(cell.getStringCellValue().trim().toLowerCase().replace(" ", ""),
-                        cell.getColumnIndex());
-            }
-
-            for (int r = 1; r <= sheet.getLastRowNum(); r++) {
-                Row row = sheet.getRow(r);
-                if (row == null) continue;
-                try {
-                    Student student = mapExcelRow(row, colIndex);
-                    studentRepository.save(student);
-                    successCount++;
-                } catch (Exception e) {
-                    errorCount++;
-                    errors.add("Row " + (r + 1) + ": " + e.getMessage());
-                }
-            }
-        }
-        return new ImportResultDTO(successCount, errorCount, errors);
-    }
-
-    private Student mapExcelRow(Row row, Map<String, Integer> colIndex) {
-        Student s = new Student();
-        s.setStudentType("INTERNAL");
-        s.setRegistrationStatus("ACTIVE");
-        s.setAdmissionNumber(required(excelCell(row, colIndex, "admissionnumber"), "admissionNumber"));
-        s.setFullName(required(excelCell(row, colIndex, "fullname"), "fullName"));
-        s.setEmail(excelCell(row, colIndex, "email"));
-        s.setNicNumber(excelCell(row, colIndex, "nicnumber"));
-        s.setGrade(excelCell(row, colIndex, "grade"));
-        String alStream = upperOrNull(excelCell(row, colIndex, "alstream"));
-        if (alStream == null) alStream = upperOrNull(excelCell(row, colIndex, "stream"));
-        s.setAlStream(alStream);
-        s.setStream(alStream);
-        s.setGender(upperOrNull(excelCell(row, colIndex, "gender")));
-        s.setMedium(upperOrNull(excelCell(row, colIndex, "medium")));
-        s.setContactNumber(excelCell(row, colIndex, "contactnumber"));
-        s.setWhatsappNumber(excelCell(row, colIndex, "whatsappnumber"));
-        s.setAddress(excelCell(row, colIndex, "address"));
-        s.setParentName(excelCell(row, colIndex, "parentname"));
-        s.setParentContactNumber(excelCell(row, colIndex, "parentcontactnumber"));
-        String dob = excelCell(row, colIndex, "dateofbirth");
-        if (dob != null && !dob.isBlank()) {
-            try { s.setDateOfBirth(LocalDate.parse(dob.trim(), DATE_FMT)); }
-            catch (DateTimeParseException ignored) {}
+    /**
+     * Puts a rejected application back in the approval queue. Only a student that
+     * was actually REJECTED counts as a requeue in the admission rollups, so a
+     * repeated request does not count twice.
+     */
+    @Transactional
+    public Student requeueStudent(Long id) {
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Student not found: " + id));
+        boolean wasRejected = "REJECTED".equals(student.getRegistrationStatus());
+        student.setRegistrationStatus("PENDING_APPROVAL");
+        student.setRejectionReason(null);
+        if (wasRejected) {
+            admissionRollupService.record(AdmissionRollupService.Event.REQUEUED, student, LocalDateTime.now());
         }
-        return s;
+        return studentRepository.save(student);
     }
 
     public Map<String, Object> promoteStudents(List<Long> studentIds) {
@@ -222,75 +264,129 @@ public class StudentService {
         return Map.of("promoted", promoted, "alreadyGrade13", alreadyGrade13, "notFound", notFound);
     }
 
-    public java.io.ByteArrayInputStream exportStudents(List<Student> students) {
-        try (java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
-             java.io.PrintWriter writer = new java.io.PrintWriter(out)) {
-
-            writer.println("admissionNumber,nicNumber,fullName,email,dateOfBirth,gender,grade,alStream," +
-                           "medium,contactNumber,whatsappNumber,parentName,parentContactNumber,address,studentType");
-            for (Student s : students) {
-                writer.printf("%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s%n",
-                        csv(s.getAdmissionNumber()),
-                        csv(s.getNicNumber()),
-                        csv(s.getFullName()),
-                        csv(s.getEmail()),
-                        csv(s.getDateOfBirth() != null ? s.getDateOfBirth().toString() : ""),
-                        csv(s.getGender()),
-                        csv(s.getGrade()),
-                        csv(s.getAlStream()),
-                        csv(s.getMedium()),
-                        csv(s.getContactNumber()),
-                        csv(s.getWhatsappNumber()),
-                        csv(s.getParentName()),
-                        csv(s.getParentContactNumber()),
-                        csv(s.getAddress()),
-                        csv(s.getStudentType()));
+    /**
+     * Writes the students matching the {@code GET /api/students} filters as CSV. Rows
+     * are read through a forward-only cursor and each entity is detached once written,
+     * so memory stays flat regardless of the number of students.
+     */
+    @Transactional(readOnly = true)
+    public int exportStudentsCsv(OutputStream out, String q, String grade, String alStream,
+                                 String registrationStatus, String studentType) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        CsvRowWriter csv = new CsvRowWriter(writer);
+        for (StudentExportColumn column : EXPORT_COLUMNS) csv.field(column.header());
+        csv.endRow();
+
+        int rows = 0;
+        try (Stream<Student> students = studentRepository.streamStudents(
+                q, grade, alStream, registrationStatus, studentType)) {
+            Iterator<Student> it = students.iterator();
+            while (it.hasNext()) {
+                Student s = it.next();
+                for (StudentExportColumn column : EXPORT_COLUMNS) csv.field(column.value(s));
+                csv.endRow();
+                entityManager.detach(s);
+                rows++;
             }
-            writer.flush();
-            return new java.io.ByteArrayInputStream(out.toByteArray());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to export data: " + e.getMessage());
         }
+        csv.flush();
+        return rows;
     }
 
-    // ── helpers ───────────────────────────────────────────────────────────────
+    /**
+     * Writes the students matching the filters as an .xlsx workbook. Rows come from
+     * the same cursor as the CSV export and go through a streaming workbook that keeps
+     * only the last {@code XLSX_ROW_WINDOW} rows in memory; older rows are flushed to a
+     * compressed temp file until the workbook is written out.
+     */
+    @Transactional(readOnly = true)
+    public int exportStudentsXlsx(OutputStream out, String grade, String alStream,
+                                  String registrationStatus) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Students");
+            sheet.createFreezePane(0, 1);
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            headerStyle.setFont(bold);
+
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < EXPORT_COLUMNS.length; c++) {
+                Cell cell = header.createCell(c);
+                cell.setCellValue(EXPORT_COLUMNS[c].header());
+                cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(c, 20 * 256);
+            }
 
-    private String cell(String[] line, Map<String, Integer> colIndex, String key) {
-        Integer idx = colIndex.get(key);
-        if (idx == null || idx >= line.length) return null;
-        String v = line[idx].trim();
-        return v.isEmpty() ? null : v;
+            int rows = 0;
+            try (Stream<Student> students = studentRepository.streamStudents(
+                    null, grade, alStream, registrationStatus, null)) {
+                Iterator<Student> it = students.iterator();
+                while (it.hasNext()) {
+                    Student s = it.next();
+                    Row row = sheet.createRow(++rows);
+                    for (int c = 0; c < EXPORT_COLUMNS.length; c++) {
+                        String value = EXPORT_COLUMNS[c].value(s);
+                        if (value != null) row.createCell(c).setCellValue(value);
+                    }
+                    entityManager.detach(s);
+                }
+            }
+            workbook.write(out);
+            out.flush();
+            return rows;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
     }
 
-    private String excelCell(Row row, Map<String, Integer> colIndex, String key) {
-        Integer idx = colIndex.get(key);
-        if (idx == null) return null;
-        Cell cell = row.getCell(idx);
-        if (cell == null) return null;
-        String v = switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue().trim();
-            case NUMERIC -> String.valueOf((long) cell.getNumericCellValue());
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            default -> "";
-        };
-        return v.isEmpty() ? null : v;
+    /**
+     * Streams the PDF student list for the given filters into {@code out}, reading
+     * students through the export cursor so rendering starts with the first row.
+     */
+    @Transactional(readOnly = true)
+    public int exportStudentsPdf(OutputStream out, String grade, String alStream,
+                                 String registrationStatus, String title) {
+        try (Stream<Student> students = studentRepository.streamStudents(
+                null, grade, alStream, registrationStatus, null)) {
+            Iterator<Student> it = students.peek(entityManager::detach).iterator();
+            return pdfReportService.writeStudentListPdf(it, title, out);
+        }
     }
 
-    private String required(String value, String field) {
-        if (value == null || value.isBlank())
-            throw new IllegalArgumentException(field + " is required");
-        return value;
+    // ── helpers ───────────────────────────────────────────────────────────────
+
+    private void attachAlSubjects(List<StudentListItemDTO> items) {
+        Map<Long, StudentListItemDTO> byId = new HashMap<>();
+        for (StudentListItemDTO item : items) byId.put(item.getId(), item);
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int i = 0; i < ids.size(); i += 1000) {
+            for (Object[] row : studentRepository.findAlSubjectsByStudentIdIn(
+                    ids.subList(i, Math.min(i + 1000, ids.size())))) {
+                byId.get((Long) row[0]).getAlSubjects().add((String) row[1]);
+            }
+        }
     }
 
-    private String upperOrNull(String value) {
-        return value != null ? value.toUpperCase() : null;
+    // Cursor: base64url of "sort|direction|id|key" — the key goes last since it may contain '|',
+    // and is left off (with its separator) when it is NULL
+    private String encodeCursor(String sort, String direction, Long id, String key) {
+        String raw = sort + "|" + direction + "|" + id + (key != null ? "|" + key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
-    private String csv(String data) {
-        if (data == null) return "";
-        String escaped = data.replace("\"", "\"\"");
-        if (escaped.contains(",") || escaped.contains("\n") || escaped.contains("\""))
-            return "\"" + escaped + "\"";
-        return escaped;
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length < 3) throw new IllegalArgumentException();
+            Long.parseLong(parts[2]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,77 @@
+package com.sims.server.service;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of the student counters behind the dashboard and reports,
+ * derived from per-(registration status, grade, gender, A/L stream) counts.
+ * Distribution maps keep a null key for students without that attribute.
+ */
+public final class StudentStats {
+
+    /** One (status, grade, gender, stream) combination and how many students have it. */
+    public record Cell(String registrationStatus, String grade, String gender, String alStream, long count) {}
+
+    private final long total;
+    private final Map<String, Long> byStatus = new LinkedHashMap<>();
+    private final Map<String, Long> byGrade = new LinkedHashMap<>();
+    private final Map<String, Long> byGender = new LinkedHashMap<>();
+    private final Map<String, Long> activeByStream = new LinkedHashMap<>();
+    private final Map<String, Long> activeByGender = new LinkedHashMap<>();
+    private final Map<String, Long> activeByGrade = new LinkedHashMap<>();
+
+    public StudentStats(Collection<Cell> cells) {
+        long sum = 0;
+        for (Cell c : cells) {
+            if (c.count() == 0) continue;
+            sum += c.count();
+            byStatus.merge(c.registrationStatus(), c.count(), Long::sum);
+            byGrade.merge(c.grade(), c.count(), Long::sum);
+            byGender.merge(c.gender(), c.count(), Long::sum);
+            if ("ACTIVE".equals(c.registrationStatus())) {
+                activeByStream.merge(c.alStream(), c.count(), Long::sum);
+                activeByGender.merge(c.gender(), c.count(), Long::sum);
+                activeByGrade.merge(c.grade(), c.count(), Long::sum);
+            }
+        }
+        this.total = sum;
+    }
+
+    /** Every student, whatever their registration status. */
+    public long total() { return total; }
+
+    public long countByRegistrationStatus(String status) { return byStatus.getOrDefault(status, 0L); }
+
+    /** Students in {@code grade}, any registration status. */
+    public long countByGrade(String grade) { return byGrade.getOrDefault(grade, 0L); }
+
+    /** Students of {@code gender}, any registration status. */
+    public long countByGender(String gender) { return byGender.getOrDefault(gender, 0L); }
+
+    /**
+     * The counters of {@code GET /api/dashboard/stats}, by their response names;
+     * also what the live update stream diffs and pushes.
+     */
+    public Map<String, Object> dashboardCounters() {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("totalStudents", countByRegistrationStatus("ACTIVE"));
+        counters.put("grade12Count", countByGrade("12"));
+        counters.put("grade13Count", countByGrade("13"));
+        counters.put("maleCount", countByGender("MALE"));
+        counters.put("femaleCount", countByGender("FEMALE"));
+        counters.put("newAdmissionsThisYear", countByGrade("12"));
+        counters.put("pendingApplications", countByRegistrationStatus("PENDING_APPROVAL"));
+
+        // Stream counts as a flat map { "SCIENCE": 80, "COMMERCE": 60, ... }
+        Map<String, Long> streamCounts = new LinkedHashMap<>();
+        activeByStream.forEach((stream, count) -> {
+            if (stream != null) streamCounts.put(stream, count);
+        });
+        counters.put("streamCounts", streamCounts);
+        return counters;
+    }
+
+    public Map<String, Long> activeByStream() { return Collections.unmodifiableMap(activeByStream); }
+    public Map<String, Long> activeByGender() { return Collections.unmodifiableMap(activeByGender); }
+    public Map<String, Long> activeByGrade() { return Collections.unmodifiableMap(activeByGrade); }
+}
@@ -0,0 +1,223 @@
+package com.sims.server.service;
+
+import com.sims.server.model.OLResult;
+import com.sims.server.model.Student;
+import com.sims.server.repository.OLResultRepository;
+import com.sims.server.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Single source of the student and O/L counters shown by the dashboard,
+ * demographics and report endpoints, answered from memory.
+ *
+ * Counters are seeded from two grouped queries once the application is ready and
+ * then maintained from Hibernate's post-commit insert / update / delete events on
+ * {@link Student} and {@link OLResult}, so a rolled-back write never moves them.
+ * The JDBC import writers bypass Hibernate; they call {@link #markStale} after
+ * each commit and the next read reseeds. A scheduled reconciliation compares the
+ * counters with the database and corrects any drift (e.g. a write that raced a
+ * reseed, or a change made outside the application).
+ */
+@Service
+public class StudentStatsService {
+
+    private record StudentCell(String registrationStatus, String grade, String gender, String alStream) {}
+
+    private record OlCell(String subject, String grade) {}
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private OLResultRepository olResultRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ConcurrentHashMap<StudentCell, LongAdder> studentCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<OlCell, LongAdder> olCounts = new ConcurrentHashMap<>();
+
+    // Deltas share the read side; a reseed takes the write side to swap in fresh counts
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean seeded;
+    private volatile boolean stale;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        CounterListener listener = new CounterListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /** Counters no longer match the database (bulk JDBC write); the next read reseeds. */
+    public void markStale() {
+        stale = true;
+    }
+
+    /** Recounts from the database, replaces the counters and reports any drift. */
+    @Scheduled(fixedDelayString = "${sims.stats.reconcile-ms:600000}", initialDelayString = "${sims.stats.reconcile-ms:600000}")
+    public void reconcile() {
+        lock.writeLock().lock();
+        try {
+            stale = false;
+            Map<StudentCell, Long> students = new HashMap<>();
+            for (Object[] row : studentRepository.countByStatusGradeGenderStream()) {
+                students.put(new StudentCell((String) row[0], (String) row[1], (String) row[2], (String) row[3]),
+                        (Long) row[4]);
+            }
+            Map<OlCell, Long> results = new HashMap<>();
+            for (Object[] row : olResultRepository.countBySubjectAndGrade()) {
+                results.put(new OlCell((String) row[0], (String) row[1]), (Long) row[2]);
+            }
+            int drift = replace(studentCounts, students) + replace(olCounts, results);
+            if (seeded && drift > 0) {
+                System.err.println("[StudentStatsService] Corrected " + drift + " drifted counters");
+            }
+            seeded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public StudentStats current() {
+        ensureFresh();
+        List<StudentStats.Cell> cells = new ArrayList<>(studentCounts.size());
+        studentCounts.forEach((c, n) -> cells.add(
+                new StudentStats.Cell(c.registrationStatus(), c.grade(), c.gender(), c.alStream(), n.sum())));
+        return new StudentStats(cells);
+    }
+
+    /** O/L result counts as subject → grade → count, both sorted. */
+    public Map<String, Map<String, Long>> olSubjectGradeCounts() {
+        ensureFresh();
+        Map<String, Map<String, Long>> bySubject = new TreeMap<>();
+        olCounts.forEach((c, n) -> {
+            long count = n.sum();
+            if (count > 0) bySubject.computeIfAbsent(c.subject(), k -> new TreeMap<>()).put(c.grade(), count);
+        });
+        return bySubject;
+    }
+
+    // ── helpers ───────────────────────────────────────────────────────────────
+
+    private void ensureFresh() {
+        if (!seeded || stale) reconcile();
+    }
+
+    /** Makes {@code counters} equal {@code actual}; returns how many cells differed. */
+    private static <K> int replace(ConcurrentHashMap<K, LongAdder> counters, Map<K, Long> actual) {
+        int drift = 0;
+        for (Map.Entry<K, LongAdder> e : counters.entrySet()) {
+            long expected = actual.getOrDefault(e.getKey(), 0L);
+            long now = e.getValue().sum();
+            if (now != expected) {
+                drift++;
+                e.getValue().add(expected - now);
+            }
+        }
+        for (Map.Entry<K, Long> e : actual.entrySet()) {
+            if (!counters.containsKey(e.getKey())) {
+                drift++;
+                counters.computeIfAbsent(e.getKey(), k -> new LongAdder()).add(e.getValue());
+            }
+        }
+        return drift;
+    }
+
+    private <K> void add(ConcurrentHashMap<K, LongAdder> counters, K cell, long delta) {
+        lock.readLock().lock();
+        try {
+            counters.computeIfAbsent(cell, k -> new LongAdder()).add(delta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Applies committed entity changes to the counters. */
+    private final class CounterListener implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            apply(event.getEntity(), event.getPersister(), event.getState(), 1);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getOldState() == null) {
+                // Updated without a loaded snapshot — the old values are unknown
+                if (isCounted(event.getEntity())) markStale();
+                return;
+            }
+            apply(event.getEntity(), event.getPersister(), event.getOldState(), -1);
+            apply(event.getEntity(), event.getPersister(), event.getState(), 1);
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            apply(event.getEntity(), event.getPersister(), event.getDeletedState(), -1);
+        }
+
+        // Nothing was committed, so there is nothing to undo
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            Class<?> type = persister.getMappedClass();
+            return type == Student.class || type == OLResult.class;
+        }
+
+        private boolean isCounted(Object entity) {
+            return entity instanceof Student || entity instanceof OLResult;
+        }
+
+        private void apply(Object entity, EntityPersister persister, Object[] state, long delta) {
+            if (state == null) {
+                if (isCounted(entity)) markStale();
+                return;
+            }
+            List<String> names = Arrays.asList(persister.getPropertyNames());
+            if (entity instanceof Student) {
+                add(studentCounts, new StudentCell(
+                        (String) state[names.indexOf("registrationStatus")],
+                        (String) state[names.indexOf("grade")],
+                        (String) state[names.indexOf("gender")],
+                        (String) state[names.indexOf("alStream")]), delta);
+            } else if (entity instanceof OLResult) {
+                add(olCounts, new OlCell(
+                        (String) state[names.indexOf("subject")],
+                        (String) state[names.indexOf("grade")]), delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.sims.server.service;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streaming reader for the first sheet of an .xlsx workbook. The sheet XML is
+ * pulled with StAX one element at a time, so heap use stays flat as the row
+ * count grows — only the shared-strings table and the current row are held.
+ *
+ * Cell values are rendered the same way the old DOM-based importer did:
+ * numbers as whole longs, booleans as "true"/"false", errors as blank.
+ */
+public final class XlsxRowReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        /** @param rowNum 1-based sheet row number, as shown in Excel */
+        void row(int rowNum, String[] values);
+    }
+
+    private XlsxRowReader() {}
+
+    public static void read(File file, RowHandler handler) throws Exception {
+        OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+        try {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            Iterator<InputStream> sheets = new XSSFReader(pkg).getSheetsData();
+            if (!sheets.hasNext()) throw new Exception("Excel file is empty");
+            try (InputStream sheet = sheets.next()) {
+                readSheet(sheet, strings, handler);
+            }
+        } finally {
+            pkg.revert(); // read-only package: release without attempting to save
+        }
+    }
+
+    private static void readSheet(InputStream sheet, ReadOnlySharedStringsTable strings,
+                                  RowHandler handler) throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader xml = factory.createXMLStreamReader(sheet);
+
+        List<String> values = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int rowNum = 0;
+        int col = 0;
+        String cellType = null;
+        boolean collecting = false;
+
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "row" -> {
+                            String r = xml.getAttributeValue(null, "r");
+                            rowNum = r != null ? Integer.parseInt(r) : rowNum + 1;
+                            values.clear();
+                            col = 0;
+                        }
+                        case "c" -> {
+                            String ref = xml.getAttributeValue(null, "r");
+                            if (ref != null) col = columnIndex(ref);
+                            cellType = xml.getAttributeValue(null, "t");
+                            text.setLength(0);
+                        }
+                        case "v", "t" -> collecting = true;
+                        default -> { }
+                    }
+                } else if (collecting && (event == XMLStreamConstants.CHARACTERS
+                        || event == XMLStreamConstants.CDATA)) {
+                    text.append(xml.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "v", "t" -> collecting = false;
+                        case "c" -> {
+                            while (values.size() < col) values.add("");
+                            String value = cellValue(cellType, text.toString(), strings);
+                            if (values.size() == col) values.add(value); else values.set(col, value);
+                            col++;
+                        }
+                        case "row" -> handler.row(rowNum, values.toArray(new String[0]));
+                        default -> { }
+                    }
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static String cellValue(String type, String raw, ReadOnlySharedStringsTable strings) {
+        if (type == null || type.equals("n")) {
+            if (raw.isBlank()) return "";
+            return String.valueOf((long) Double.parseDouble(raw));
+        }
+        return switch (type) {
+            case "s" -> strings.getItemAt(Integer.parseInt(raw.trim())).getString().trim();
+            case "inlineStr", "str" -> raw.trim();
+            case "b" -> String.valueOf("1".equals(raw.trim()));
+            default -> "";
+        };
+    }
+
+    /** "AB12" → 27 (zero-based column of an A1-style cell reference). */
+    private static int columnIndex(String ref) {
+        int col = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') break;
+            col = col * 26 + (c - 'A' + 1);
+        }
+        return col - 1;
+    }
+}
@@ -0,0 +1,98 @@
+-- Baseline: the schema as previously generated by Hibernate (ddl-auto=update).
+-- IF NOT EXISTS keeps this a no-op on databases that already have the tables;
+-- Flyway baselines those at version 0 and applies this script on top.
+
+CREATE TABLE IF NOT EXISTS users (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    username  VARCHAR(255) NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    role      VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    email     VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS students (
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    admission_number      VARCHAR(255),
+    full_name             VARCHAR(255) NOT NULL,
+    date_of_birth         DATE,
+    gender                VARCHAR(255),
+    address               VARCHAR(500),
+    contact_number        VARCHAR(255),
+    whatsapp_number       VARCHAR(255),
+    email                 VARCHAR(255),
+    nic_number            VARCHAR(12),
+    grade                 VARCHAR(255),
+    al_stream             VARCHAR(255),
+    medium                VARCHAR(255),
+    parent_name           VARCHAR(255),
+    parent_contact_number VARCHAR(255),
+    al_application_status VARCHAR(255),
+    student_type          VARCHAR(255) NOT NULL,
+    registration_status   VARCHAR(255) NOT NULL,
+    rejection_reason      VARCHAR(500),
+    stream                VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_students_admission_number UNIQUE (admission_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS student_al_subjects (
+    student_id BIGINT NOT NULL,
+    subject    VARCHAR(255),
+    CONSTRAINT fk_student_al_subjects_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ol_results (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    student_id BIGINT       NOT NULL,
+    subject    VARCHAR(255) NOT NULL,
+    grade      VARCHAR(255) NOT NULL,
+    exam_year  INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ol_results_student_subject_year UNIQUE (student_id, subject, exam_year),
+    CONSTRAINT fk_ol_results_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS interviews (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    student_id       BIGINT       NOT NULL,
+    scheduled_at     DATETIME(6)  NOT NULL,
+    duration_minutes INT          NOT NULL,
+    location         VARCHAR(255),
+    status           VARCHAR(255) NOT NULL,
+    notes            VARCHAR(1000),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_interviews_student FOREIGN KEY (student_id) REFERENCES students (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS stream_score_configs (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    stream       VARCHAR(255) NOT NULL,
+    subject_code VARCHAR(255) NOT NULL,
+    weight       DOUBLE       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_stream_score_configs_stream_subject UNIQUE (stream, subject_code)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    action       VARCHAR(64)  NOT NULL,
+    performed_by VARCHAR(64)  NOT NULL,
+    detail       VARCHAR(512),
+    timestamp    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS import_checkpoints (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    content_hash       VARCHAR(80)  NOT NULL,
+    filename           VARCHAR(255),
+    last_committed_row INT          NOT NULL,
+    status             VARCHAR(16)  NOT NULL,
+    created_at         DATETIME(6)  NOT NULL,
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_import_checkpoints_content_hash UNIQUE (content_hash)
+) ENGINE = InnoDB;
@@ -0,0 +1,28 @@
+-- Indexes for the students access paths (filters, dashboard GROUP BYs, listing sorts).
+-- Most lead with registration_status because nearly every screen is scoped to ACTIVE
+-- (or PENDING_APPROVAL) students; the second column makes the GROUP BY counts
+-- covering index scans.
+
+-- countByGradeGroup, countByGrade + status filters, grade/status listing filters
+CREATE INDEX idx_students_status_grade  ON students (registration_status, grade);
+-- countByStreamGroup, alStream + status filters
+CREATE INDEX idx_students_status_stream ON students (registration_status, al_stream);
+-- countByGenderGroup
+CREATE INDEX idx_students_status_gender ON students (registration_status, gender);
+-- countByGender (dashboard male/female totals, not scoped by status)
+CREATE INDEX idx_students_gender        ON students (gender);
+-- findTop5ByRegistrationStatusOrderByIdDesc and countByRegistrationStatus: a
+-- single-column index keeps entries in primary-key order within each status,
+-- so ORDER BY id DESC LIMIT 5 reads five index entries backwards
+CREATE INDEX idx_students_status        ON students (registration_status);
+-- pending-applications list (EXTERNAL + PENDING_APPROVAL) and studentType filter
+CREATE INDEX idx_students_type_status   ON students (student_type, registration_status);
+-- grade (+ stream) filters without a status, e.g. the per-grade exports
+CREATE INDEX idx_students_grade_stream  ON students (grade, al_stream);
+-- alStream filter without a status
+CREATE INDEX idx_students_al_stream     ON students (al_stream);
+-- keyset pagination by name: (full_name, id) — InnoDB appends the primary key
+CREATE INDEX idx_students_full_name     ON students (full_name);
+
+-- OLResultRepository.countBySubjectAndGrade: covering index for the O/L summary GROUP BY
+CREATE INDEX idx_ol_results_subject_grade ON ol_results (subject, grade);
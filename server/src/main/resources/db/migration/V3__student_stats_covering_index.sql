@@ -0,0 +1,10 @@
+-- The dashboard, demographics and report counters now come from a single
+-- GROUP BY over (registration_status, grade, gender, al_stream) — see
+-- StudentRepository.countByStatusGradeGenderStream. This index covers it, so
+-- the whole aggregate is one index-only scan.
+CREATE INDEX idx_students_stats ON students (registration_status, grade, gender, al_stream);
+
+-- Only the separate per-gender counts read these; the covering index above
+-- answers them now.
+DROP INDEX idx_students_gender ON students;
+DROP INDEX idx_students_status_gender ON students;
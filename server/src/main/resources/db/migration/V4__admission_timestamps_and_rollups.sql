@@ -0,0 +1,21 @@
+-- Lifecycle timestamps on students. Rows created before this migration keep NULLs:
+-- their history was never recorded and is not reconstructed.
+ALTER TABLE students
+    ADD COLUMN created_at  DATETIME(6) NULL,
+    ADD COLUMN approved_at DATETIME(6) NULL,
+    ADD COLUMN rejected_at DATETIME(6) NULL;
+
+-- Admission events (CREATED / APPROVED / REJECTED / REQUEUED) counted per day, month
+-- and year, by A/L stream and student type. Maintained incrementally by
+-- AdmissionRollupService in the same transaction as the transition itself, so a
+-- trend over several years reads a few hundred rows instead of scanning students.
+-- Unknown stream / type are stored as '' so they can be part of the primary key.
+CREATE TABLE admission_rollups (
+    granularity  VARCHAR(5)   NOT NULL,   -- DAY | MONTH | YEAR
+    period_start DATE         NOT NULL,   -- first day of the day / month / year
+    event        VARCHAR(16)  NOT NULL,
+    al_stream    VARCHAR(255) NOT NULL DEFAULT '',
+    student_type VARCHAR(255) NOT NULL DEFAULT '',
+    event_count  BIGINT       NOT NULL,
+    PRIMARY KEY (granularity, period_start, event, al_stream, student_type)
+) ENGINE = InnoDB;
@@ -0,0 +1,17 @@
+-- Precomputed weighted O/L score of each external applicant for their A/L stream,
+-- maintained by ApplicantScoreService: per student when their results or stream
+-- change, per stream when the stream's weights change. subject_grades carries the
+-- SUBJECT=GRADE pairs shown next to the score, so a ranking reads this table alone
+-- (plus the student's own row).
+CREATE TABLE applicant_scores (
+    student_id     BIGINT        NOT NULL,
+    stream         VARCHAR(255)  NOT NULL,
+    score          DOUBLE        NOT NULL,
+    subject_grades VARCHAR(1000) NOT NULL DEFAULT '',
+    updated_at     DATETIME(6)   NOT NULL,
+    PRIMARY KEY (student_id, stream),
+    CONSTRAINT fk_applicant_scores_student FOREIGN KEY (student_id) REFERENCES students (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Ranked reads: one range scan in rank order (ties by student id)
+CREATE INDEX idx_applicant_scores_stream_score ON applicant_scores (stream, score DESC, student_id);
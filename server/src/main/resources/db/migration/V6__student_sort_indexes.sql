@@ -0,0 +1,4 @@
+-- Keyset pagination by grade: (grade, id) — InnoDB appends the primary key. The
+-- (grade, al_stream) index cannot serve ORDER BY grade, id. Sorting by admission
+-- number already has uk_students_admission_number.
+CREATE INDEX idx_students_grade ON students (grade);
@@ -0,0 +1,52 @@
+package com.sims.server;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base of the tests that run against a real MySQL 8 (needs Docker). One container
+ * is started for the whole test run and shared by every subclass; the schema comes
+ * from the Flyway migrations, and each test class starts from empty tables.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public abstract class MySqlTest {
+
+    // Batched inserts rewritten into multi-row INSERTs, as in the production DB_URL.
+    // performance_schema keeps whole statements (default: first 1024 chars), so
+    // QueryPlanTest can EXPLAIN the SQL Hibernate sent.
+    @ServiceConnection
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withUrlParam("rewriteBatchedStatements", "true")
+            .withCommand("--performance-schema-max-sql-text-length=16384",
+                    "--performance-schema-events-statements-history-size=50");
+    static {
+        // Started here rather than by an extension so it is up before any seeding @BeforeAll
+        MYSQL.start();
+    }
+
+    // Runs before the subclass's own @BeforeAll. Rows are deleted rather than truncated
+    // so ids are never reused across classes that share a cached context.
+    @BeforeAll
+    static void emptyTables() throws SQLException {
+        try (Connection c = MYSQL.createConnection(""); Statement st = c.createStatement()) {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery("SELECT table_name FROM information_schema.tables " +
+                    "WHERE table_schema = DATABASE() AND table_name <> 'flyway_schema_history'")) {
+                while (rs.next()) tables.add(rs.getString(1));
+            }
+            st.execute("SET FOREIGN_KEY_CHECKS = 0");
+            for (String table : tables) st.executeUpdate("DELETE FROM `" + table + "`");
+        }
+    }
+}
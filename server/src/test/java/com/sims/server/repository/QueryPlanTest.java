@@ -0,0 +1,245 @@
+package com.sims.server.repository;
+
+import com.sims.server.MySqlTest;
+import com.sims.server.service.AdmissionRollupService;
+import com.sims.server.service.ApplicantRankingService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the students / O/L / ranking queries on a seeded MySQL, EXPLAINs the SQL each
+ * one actually sent and fails if any falls back to a full table scan (type=ALL) or
+ * sorts its rows (Using filesort), so a dropped or mis-designed index in db/migration
+ * — or a query Hibernate translates differently than expected — fails the build
+ * instead of showing up as a slow screen.
+ *
+ * The SQL is read back from performance_schema's statement history for the test's
+ * own connection. Connector/J binds parameters client-side, so the text there has the
+ * literal arguments in place and can be EXPLAINed as is.
+ *
+ * MySQL scans tiny tables even when an index exists, so the schema is migrated by
+ * Flyway and filled with a few tens of thousands of rows, then ANALYZEd.
+ */
+@Import({ApplicantRankingService.class, AdmissionRollupService.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest extends MySqlTest {
+
+    private static final int STUDENTS = 20_000;
+
+    // 0..99999 without deep recursion (cte_max_recursion_depth is 1000)
+    private static final String NUMBERS =
+            "WITH RECURSIVE d (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM d WHERE n < 9), " +
+            "nums (n) AS (SELECT a.n + 10 * b.n + 100 * c.n + 1000 * e.n + 10000 * f.n " +
+            "FROM d a, d b, d c, d e, d f) ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private OLResultRepository olResultRepository;
+
+    @Autowired
+    private ApplicantRankingService rankingService;
+
+    @Autowired
+    private AdmissionRollupService rollupService;
+
+    // Looked up once after seeding (ids depend on what earlier test classes inserted),
+    // so the calls under test send no statements of their own
+    private final Map<String, Long> studentIds = new HashMap<>();
+    private long middleApplicant;
+
+    /**
+     * Each entry calls a repository or service method with representative arguments.
+     * Unfiltered exports and free-text searches are left out: they read every row by design.
+     */
+    Stream<Arguments> queries() {
+        return Stream.of(
+                query("StudentRepository.countByStatusGradeGenderStream",
+                        () -> studentRepository.countByStatusGradeGenderStream()),
+                query("StudentRepository.findTop5ByRegistrationStatusOrderByIdDesc",
+                        () -> studentRepository.findTop5ByRegistrationStatusOrderByIdDesc("ACTIVE")),
+                query("StudentRepository.searchStudents(grade, registrationStatus)",
+                        () -> studentRepository.searchStudents(null, "12", null, "ACTIVE", null)),
+                query("StudentRepository.searchStudents(alStream)",
+                        () -> studentRepository.searchStudents(null, null, "COMMERCE", null, null)),
+                query("StudentRepository.searchStudentItems(registrationStatus, studentType)",
+                        () -> studentRepository.searchStudentItems(null, null, null, "PENDING_APPROVAL", "EXTERNAL")),
+                query("StudentRepository.streamStudents(alStream)", () -> {
+                    try (Stream<?> rows = studentRepository.streamStudents(null, null, "COMMERCE", null, null)) {
+                        rows.forEach(row -> { });
+                    }
+                }),
+                query("StudentRepository.findPage(sort=name, status)",
+                        () -> page("ACTIVE", StudentSort.NAME, false, null, null)),
+                query("StudentRepository.findPage(sort=admissionNumber)",
+                        () -> page(null, StudentSort.ADMISSION_NUMBER, false, null, null)),
+                query("StudentRepository.findPage(sort=admissionNumber, after a key)",
+                        () -> page(null, StudentSort.ADMISSION_NUMBER, false, "A5000", studentId("A5000"))),
+                query("StudentRepository.findPage(sort=admissionNumber, after NULL)",
+                        () -> page(null, StudentSort.ADMISSION_NUMBER, false, null, studentId("A10"))),
+                query("StudentRepository.findPage(sort=admissionNumber desc, after NULL)",
+                        () -> page(null, StudentSort.ADMISSION_NUMBER, true, null, studentId("A10"))),
+                query("StudentRepository.findPage(sort=grade)",
+                        () -> page(null, StudentSort.GRADE, false, null, null)),
+                query("StudentRepository.findPage(sort=grade, status)",
+                        () -> page("ACTIVE", StudentSort.GRADE, false, null, null)),
+                query("StudentRepository.findPage(sort=grade desc, after a key)",
+                        () -> page(null, StudentSort.GRADE, true, "9", studentId("A500"))),
+                query("StudentRepository.findPage(sort=grade, after NULL)",
+                        () -> page(null, StudentSort.GRADE, false, null, studentId("A10"))),
+                query("StudentRepository.findByAdmissionNumber",
+                        () -> studentRepository.findByAdmissionNumber("A1234")),
+                query("StudentRepository.findApplicantRows",
+                        () -> studentRepository.findApplicantRows("COMMERCE")),
+                query("OLResultRepository.countBySubjectAndGrade",
+                        () -> olResultRepository.countBySubjectAndGrade()),
+                query("OLResultRepository.findKeysByStudentIdIn",
+                        () -> olResultRepository.findKeysByStudentIdIn(
+                                List.of(studentId("A4"), studentId("A8"), studentId("A12")))),
+                query("AdmissionRollupService.series",
+                        () -> rollupService.series(AdmissionRollupService.Granularity.MONTH,
+                                LocalDate.of(2024, 1, 1), LocalDate.of(2026, 12, 31), null, null, null)),
+                query("ApplicantRankingService.rank",
+                        () -> rankingService.rank("COMMERCE")),
+                query("ApplicantRankingService.page(minScore)",
+                        () -> rankingService.page("COMMERCE", 50.0, 0, 100)),
+                query("ApplicantRankingService.around",
+                        () -> rankingService.around("COMMERCE", middleApplicant, 10)));
+    }
+
+    private static Arguments query(String name, Runnable call) {
+        return Arguments.of(name, call);
+    }
+
+    private void page(String registrationStatus, StudentSort sort, boolean descending,
+                      String afterKey, Long afterId) {
+        studentRepository.findPage(null, null, null, null, registrationStatus, null,
+                sort, descending, afterKey, afterId, 51);
+    }
+
+    private Long studentId(String admissionNumber) {
+        return studentIds.get(admissionNumber);
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update(
+                "INSERT INTO students (admission_number, full_name, gender, nic_number, grade, al_stream, " +
+                "student_type, registration_status) " + NUMBERS +
+                "SELECT CONCAT('A', n), CONCAT(ELT(1 + n % 7, 'Nimal', 'Kamal', 'Sunil', 'Ruwan', 'Amali', " +
+                "'Dilani', 'Chamari'), ' ', LPAD(n * 7919 % " + STUDENTS + ", 6, '0')), " +
+                "IF(n % 2 = 0, 'MALE', 'FEMALE'), CONCAT('2000', LPAD(n, 8, '0')), CAST(6 + n % 8 AS CHAR), " +
+                "IF(n % 4 = 0, ELT(1 + (n DIV 20) % 5, 'PHYSICAL_SCIENCE', 'BIOLOGICAL_SCIENCE', " +
+                "'COMMERCE', 'ARTS', 'TECHNOLOGY'), NULL), " +
+                "IF(n % 20 = 0, 'EXTERNAL', 'INTERNAL'), " +
+                "CASE n % 50 WHEN 0 THEN 'PENDING_APPROVAL' WHEN 1 THEN 'REJECTED' WHEN 2 THEN 'INACTIVE' " +
+                "ELSE 'ACTIVE' END " +
+                "FROM nums WHERE n < " + STUDENTS);
+        jdbcTemplate.update(
+                "INSERT INTO ol_results (student_id, subject, grade, exam_year) " +
+                "SELECT s.id, sub.subject, ELT(1 + (s.id + sub.k) % 5, 'A', 'B', 'C', 'S', 'W'), 2024 " +
+                "FROM students s JOIN (SELECT 'MATHS' AS subject, 0 AS k UNION ALL SELECT 'SCIENCE', 1 " +
+                "UNION ALL SELECT 'ENGLISH', 2 UNION ALL SELECT 'SINHALA', 3 UNION ALL SELECT 'HISTORY', 4 " +
+                "UNION ALL SELECT 'COMMERCE', 5) sub " +
+                "WHERE s.id % 4 = 0 OR s.student_type = 'EXTERNAL'");
+        jdbcTemplate.update(
+                "INSERT INTO applicant_scores (student_id, stream, score, subject_grades, updated_at) " +
+                "SELECT id, al_stream, (id * 37) % 100, '', NOW(6) FROM students " +
+                "WHERE student_type = 'EXTERNAL' AND al_stream IS NOT NULL");
+        jdbcTemplate.update(
+                "INSERT INTO admission_rollups (granularity, period_start, event, al_stream, student_type, event_count) " +
+                NUMBERS + "SELECT 'DAY', DATE '2016-01-01' + INTERVAL (n DIV 4) DAY, " +
+                "ELT(1 + n % 4, 'CREATED', 'APPROVED', 'REJECTED', 'REQUEUED'), '', 'EXTERNAL', 1 + n % 9 " +
+                "FROM nums WHERE n < 4 * 3650 " +
+                "UNION ALL " +
+                "SELECT 'MONTH', DATE '2016-01-01' + INTERVAL (n DIV 4) MONTH, " +
+                "ELT(1 + n % 4, 'CREATED', 'APPROVED', 'REJECTED', 'REQUEUED'), '', 'EXTERNAL', 30 " +
+                "FROM nums WHERE n < 4 * 120");
+        jdbcTemplate.execute("ANALYZE TABLE students, ol_results, applicant_scores, admission_rollups");
+
+        for (String admissionNumber : List.of("A4", "A8", "A10", "A12", "A500", "A5000")) {
+            studentIds.put(admissionNumber, jdbcTemplate.queryForObject(
+                    "SELECT id FROM students WHERE admission_number = ?", Long.class, admissionNumber));
+        }
+        middleApplicant = jdbcTemplate.queryForObject("SELECT student_id FROM applicant_scores " +
+                "WHERE stream = 'COMMERCE' ORDER BY score DESC, student_id LIMIT 1 OFFSET 100", Long.class);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void usesAnIndexWithoutSorting(String name, Runnable call) throws SQLException {
+        // Inside the test transaction this is the connection Hibernate and JdbcTemplate use
+        long connectionId = jdbcTemplate.queryForObject("SELECT CONNECTION_ID()", Long.class);
+        List<String> statements;
+        try (Connection root = DriverManager.getConnection(MYSQL.getJdbcUrl(), "root", MYSQL.getPassword())) {
+            long thread = single(root, "SELECT THREAD_ID FROM performance_schema.threads " +
+                    "WHERE PROCESSLIST_ID = ?", connectionId);
+            long before = single(root, "SELECT COALESCE(MAX(EVENT_ID), 0) " +
+                    "FROM performance_schema.events_statements_history WHERE THREAD_ID = ?", thread);
+            call.run();
+            statements = executedSelects(root, thread, before);
+        }
+        assertThat(statements).as(name + ": no SELECT was captured").isNotEmpty();
+
+        for (String sql : statements) {
+            List<String> problems = new ArrayList<>();
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                String extra = String.valueOf(row.get("Extra"));
+                if ("ALL".equalsIgnoreCase(String.valueOf(row.get("type")))) {
+                    problems.add("full scan of " + row.get("table") + " (~" + row.get("rows") + " rows)");
+                }
+                if (extra.contains("Using filesort")) {
+                    problems.add("filesort on " + row.get("table") + " (" + extra + ")");
+                }
+            }
+            assertThat(problems).as(name + ": " + sql).isEmpty();
+        }
+    }
+
+    private static long single(Connection c, String sql, long arg) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, arg);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static List<String> executedSelects(Connection c, long thread, long afterEvent) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (PreparedStatement ps = c.prepareStatement("SELECT SQL_TEXT FROM performance_schema.events_statements_history " +
+                "WHERE THREAD_ID = ? AND EVENT_ID > ? AND LOWER(SQL_TEXT) LIKE 'select%' ORDER BY EVENT_ID")) {
+            ps.setLong(1, thread);
+            ps.setLong(2, afterEvent);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) statements.add(rs.getString(1));
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,121 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import com.sims.server.dto.RankedApplicantDTO;
+import com.sims.server.model.OLResult;
+import com.sims.server.model.StreamScoreConfig;
+import com.sims.server.repository.OLResultRepository;
+import com.sims.server.repository.StreamScoreConfigRepository;
+import com.sims.server.repository.StudentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Ranking 500 / 5k / 50k applicants: the batched scoring (three reads for the
+ * whole stream, then one ranked read) against the per-applicant lookups it
+ * replaced, which also serve as the reference the batched scores must equal.
+ * The per-applicant path is skipped at 50k, where it takes minutes. Run
+ * with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Import({ScoreService.class, ApplicantScoreService.class, ApplicantRankingService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // recomputes run in their own transactions
+class ApplicantRankingBenchmarkTest extends MySqlTest {
+
+    private static final String[] SUBJECTS = {"MATHEMATICS", "SCIENCE", "ENGLISH", "SINHALA", "HISTORY",
+            "BUDDHISM", "COMMERCE", "ICT", "ART"};
+
+    @Autowired private ApplicantScoreService applicantScoreService;
+    @Autowired private ApplicantRankingService applicantRankingService;
+    @Autowired private ScoreService scoreService;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private OLResultRepository olResultRepository;
+    @Autowired private StreamScoreConfigRepository scoreConfigRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void batchedRankingMatchesAndOutrunsPerApplicantLookups() {
+        StringBuilder report = new StringBuilder("[ApplicantRankingBenchmark]");
+        for (int n : new int[]{500, 5_000, 50_000}) {
+            String stream = "BENCH_" + n;
+            seed(stream, n);
+
+            long start = System.nanoTime();
+            applicantScoreService.recomputeStream(stream);
+            List<RankedApplicantDTO> ranked = applicantRankingService.rank(stream);
+            long batchedMs = (System.nanoTime() - start) / 1_000_000;
+            assertThat(ranked).hasSize(n);
+            for (int i = 1; i < ranked.size(); i++) {
+                assertThat(ranked.get(i).getTotalScore()).isLessThanOrEqualTo(ranked.get(i - 1).getTotalScore());
+            }
+
+            // Every applicant at 500 / 5k, a sample at 50k
+            int step = n > 5_000 ? n / 500 : 1;
+            long referenceStart = System.nanoTime();
+            for (int i = 0; i < ranked.size(); i += step) {
+                RankedApplicantDTO a = ranked.get(i);
+                assertThat(a.getTotalScore()).as("student %d", a.getStudentId())
+                        .isCloseTo(referenceScore(a.getStudentId(), stream), within(1e-9));
+            }
+            if (step == 1) {
+                long perApplicantMs = (System.nanoTime() - referenceStart) / 1_000_000;
+                report.append(String.format("%n  %6d applicants: batched %6d ms, per-applicant %6d ms",
+                        n, batchedMs, perApplicantMs));
+                if (n >= 5_000) assertThat(batchedMs).isLessThan(perApplicantMs);
+            } else {
+                report.append(String.format("%n  %6d applicants: batched %6d ms", n, batchedMs));
+            }
+        }
+        System.out.println(report);
+    }
+
+    /** The score as ranking computed it before: the applicant's results and the weights, per applicant. */
+    private double referenceScore(Long studentId, String stream) {
+        Map<String, Double> weights = new HashMap<>();
+        for (StreamScoreConfig c : scoreConfigRepository.findByStream(stream)) {
+            weights.put(c.getSubjectCode(), c.getWeight());
+        }
+        Map<String, Integer> gradePoints = scoreService.getGradePoints();
+        double total = 0.0;
+        for (OLResult r : olResultRepository.findByStudentId(studentId)) {
+            int points = gradePoints.getOrDefault(r.getGrade().toUpperCase(), 0);
+            total += points * weights.getOrDefault(r.getSubject().toUpperCase(), 1.0);
+        }
+        return total;
+    }
+
+    private void seed(String stream, int n) {
+        jdbcTemplate.update(
+                "INSERT INTO students (full_name, al_stream, student_type, registration_status) " +
+                "WITH RECURSIVE d (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM d WHERE n < 9), " +
+                "nums (n) AS (SELECT a.n + 10 * b.n + 100 * c.n + 1000 * e.n + 10000 * f.n " +
+                "FROM d a, d b, d c, d e, d f) " +
+                "SELECT CONCAT('Applicant ', n), ?, 'EXTERNAL', 'PENDING_APPROVAL' FROM nums WHERE n < ?",
+                stream, n);
+        StringBuilder subjects = new StringBuilder();
+        for (int k = 0; k < SUBJECTS.length; k++) {
+            if (k > 0) subjects.append(" UNION ALL ");
+            subjects.append("SELECT '").append(SUBJECTS[k]).append("' AS subject, ").append(k).append(" AS k");
+        }
+        jdbcTemplate.update(
+                "INSERT INTO ol_results (student_id, subject, grade, exam_year) " +
+                "SELECT s.id, sub.subject, ELT(1 + (s.id * 7 + sub.k * 3) % 5, 'A', 'B', 'C', 'S', 'W'), 2023 " +
+                "FROM students s JOIN (" + subjects + ") sub WHERE s.al_stream = ?", stream);
+        jdbcTemplate.batchUpdate("INSERT INTO stream_score_configs (stream, subject_code, weight) VALUES (?, ?, ?)",
+                List.of(new Object[]{stream, "MATHEMATICS", 2.0}, new Object[]{stream, "SCIENCE", 1.5},
+                        new Object[]{stream, "ENGLISH", 1.25}));
+        jdbcTemplate.execute("ANALYZE TABLE students, ol_results");
+    }
+}
@@ -0,0 +1,105 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import com.sims.server.dto.RankedApplicantDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Windows and pages of a ranking with many tied scores must be exact slices of
+ * the full ranking, ranks included.
+ */
+@Import(ApplicantRankingService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the seed is shared by every test
+class ApplicantRankingServiceTest extends MySqlTest {
+
+    private static final String STREAM = "COMMERCE";
+    private static final int APPLICANTS = 40;
+
+    @Autowired private ApplicantRankingService rankingService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private List<RankedApplicantDTO> full;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < APPLICANTS; i++) {
+            jdbcTemplate.update("INSERT INTO students (full_name, al_stream, student_type, registration_status) " +
+                    "VALUES (?, ?, 'EXTERNAL', 'PENDING_APPROVAL')", "Applicant " + i, STREAM);
+        }
+        // Scores 0..4 in a shuffled id order: eight applicants tied on each
+        jdbcTemplate.update("INSERT INTO applicant_scores (student_id, stream, score, subject_grades, updated_at) " +
+                "SELECT id, al_stream, (id * 7) % 5, '', NOW(6) FROM students WHERE al_stream = ?", STREAM);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rankingService, "maxLimit", 1000);
+        full = rankingService.rank(STREAM);
+        assertThat(full).hasSize(APPLICANTS);
+    }
+
+    @Test
+    void aroundIsTheSliceOfTheFullRanking() {
+        for (int window : new int[]{0, 1, 3, 50}) {
+            for (int position = 0; position < APPLICANTS; position++) {
+                long studentId = full.get(position).getStudentId();
+                List<RankedApplicantDTO> expected =
+                        full.subList(Math.max(0, position - window), Math.min(APPLICANTS, position + window + 1));
+
+                List<RankedApplicantDTO> around = rankingService.around(STREAM, studentId, window);
+
+                assertThat(around).extracting(RankedApplicantDTO::getStudentId)
+                        .as("window %d around rank %d", window, position + 1)
+                        .containsExactlyElementsOf(expected.stream().map(RankedApplicantDTO::getStudentId).toList());
+                assertThat(around).extracting(RankedApplicantDTO::getRank)
+                        .containsExactlyElementsOf(expected.stream().map(RankedApplicantDTO::getRank).toList());
+            }
+        }
+    }
+
+    @Test
+    void aroundKeepsBothSidesWithinTheMaxLimit() {
+        ReflectionTestUtils.setField(rankingService, "maxLimit", 6);
+        RankedApplicantDTO middle = full.get(20);
+
+        List<RankedApplicantDTO> around = rankingService.around(STREAM, middle.getStudentId(), 10);
+
+        // Two either side fit in six rows; the student stays in the middle
+        assertThat(around).extracting(RankedApplicantDTO::getRank).containsExactly(19, 20, 21, 22, 23);
+    }
+
+    @Test
+    void aroundAnUnrankedStudentIsNull() {
+        assertThat(rankingService.around(STREAM, -1L, 3)).isNull();
+    }
+
+    @Test
+    void pageIsTheSliceOfTheFullRanking() {
+        List<RankedApplicantDTO> page = rankingService.page(STREAM, null, 12, 5);
+        assertThat(page).extracting(RankedApplicantDTO::getStudentId)
+                .containsExactlyElementsOf(full.subList(12, 17).stream().map(RankedApplicantDTO::getStudentId).toList());
+        assertThat(page).extracting(RankedApplicantDTO::getRank).containsExactly(13, 14, 15, 16, 17);
+    }
+
+    @Test
+    void offsetWithoutALimitIsRejected() {
+        assertThatThrownBy(() -> rankingService.page(STREAM, null, 10, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("limit");
+    }
+}
@@ -0,0 +1,81 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recomputes against MySQL: a computation that read earlier than the stored row
+ * leaves it alone, and a backfill scores every stream.
+ */
+@Import({ScoreService.class, ApplicantScoreService.class, ApplicantRankingService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // recomputes run in their own transactions
+class ApplicantScoreRecomputeTest extends MySqlTest {
+
+    @Autowired private ApplicantScoreService applicantScoreService;
+    @Autowired private ApplicantRankingService applicantRankingService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private static int streams;
+
+    private String stream;
+    private long studentId;
+
+    @BeforeEach
+    void setUp() {
+        stream = "MATHS_" + ++streams; // one applicant per test, in a stream of its own
+        jdbcTemplate.update("INSERT INTO students (full_name, al_stream, student_type, registration_status) " +
+                "VALUES ('Nimal Perera', ?, 'EXTERNAL', 'PENDING_APPROVAL')", stream);
+        studentId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM students", Long.class);
+        jdbcTemplate.update("INSERT INTO ol_results (student_id, subject, grade, exam_year) " +
+                "VALUES (?, 'MATHEMATICS', 'A', 2023), (?, 'SCIENCE', 'B', 2023)", studentId, studentId);
+    }
+
+    @Test
+    void streamRecomputeDoesNotOverwriteALaterStudentRecompute() {
+        applicantScoreService.recomputeStudents(List.of(studentId));
+        assertThat(score()).isEqualTo(9.0);
+
+        // The student's row now stands for a read later than any recompute starting now
+        jdbcTemplate.update("UPDATE applicant_scores SET score = 42, updated_at = ? WHERE student_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), studentId);
+        applicantScoreService.recomputeStream(stream);
+        assertThat(score()).isEqualTo(42.0);
+
+        jdbcTemplate.update("UPDATE applicant_scores SET updated_at = ? WHERE student_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)), studentId);
+        applicantScoreService.recomputeStream(stream);
+        assertThat(score()).isEqualTo(9.0);
+    }
+
+    @Test
+    void backfillScoresStreamsWithNoRowsYet() {
+        jdbcTemplate.update("DELETE FROM applicant_scores");
+        assertThat(applicantRankingService.rank(stream)).isEmpty();
+
+        applicantScoreService.backfill();
+
+        assertThat(applicantRankingService.rank(stream))
+                .singleElement()
+                .satisfies(a -> {
+                    assertThat(a.getStudentId()).isEqualTo(studentId);
+                    assertThat(a.getTotalScore()).isEqualTo(9.0);
+                });
+    }
+
+    private double score() {
+        return jdbcTemplate.queryForObject("SELECT score FROM applicant_scores WHERE student_id = ?",
+                Double.class, studentId);
+    }
+}
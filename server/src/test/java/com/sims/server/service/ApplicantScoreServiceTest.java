@@ -0,0 +1,37 @@
+package com.sims.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicantScoreServiceTest {
+
+    @Test
+    void gradesRoundTripInSubjectOrder() {
+        Map<String, String> grades = new LinkedHashMap<>();
+        grades.put("MATHEMATICS", "A");
+        grades.put("SCIENCE", "B");
+        grades.put("ENGLISH", "W");
+
+        String encoded = ApplicantScoreService.encodeGrades(grades);
+
+        assertThat(encoded).isEqualTo("MATHEMATICS=A;SCIENCE=B;ENGLISH=W");
+        assertThat(ApplicantScoreService.decodeGrades(encoded)).containsExactlyEntriesOf(grades);
+    }
+
+    @Test
+    void noGradesIsTheEmptyString() {
+        assertThat(ApplicantScoreService.encodeGrades(Map.of())).isEmpty();
+        assertThat(ApplicantScoreService.decodeGrades("")).isEmpty();
+        assertThat(ApplicantScoreService.decodeGrades(null)).isEmpty();
+    }
+
+    @Test
+    void malformedPairsAreSkipped() {
+        assertThat(ApplicantScoreService.decodeGrades("MATHEMATICS=A;;=B;SCIENCE"))
+                .containsExactly(Map.entry("MATHEMATICS", "A"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.sims.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BkTreeTest {
+
+    @Test
+    void distanceIsLevenshtein() {
+        assertThat(BkTree.distance("kitten", "sitting")).isEqualTo(3);
+        assertThat(BkTree.distance("sitting", "kitten")).isEqualTo(3);
+        assertThat(BkTree.distance("", "abc")).isEqualTo(3);
+        assertThat(BkTree.distance("caturika", "caturika")).isZero();
+        assertThat(BkTree.distance("caturika", "catrika")).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateKeysAreStoredOnce() {
+        BkTree tree = new BkTree();
+        tree.add("perera");
+        tree.add("silva");
+        tree.add("perera");
+        assertThat(tree.size()).isEqualTo(2);
+    }
+
+    @Test
+    void searchFindsExactlyWhatALinearScanFinds() {
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>();
+        BkTree tree = new BkTree();
+        for (int i = 0; i < 5_000; i++) {
+            String w = word(random);
+            words.add(w);
+            tree.add(w);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            String query = q % 2 == 0 ? words.get(random.nextInt(words.size())) : word(random);
+            for (int k = 0; k <= 2; k++) {
+                Map<String, Integer> expected = new HashMap<>();
+                for (String w : words) {
+                    int d = BkTree.distance(query, w);
+                    if (d <= k) expected.put(w, d);
+                }
+                Map<String, Integer> found = new HashMap<>();
+                tree.search(query, k, found::put);
+                assertThat(found).as("query %s, k %d", query, k).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        List<String> found = new ArrayList<>();
+        new BkTree().search("nimal", 2, (key, d) -> found.add(key));
+        assertThat(found).isEmpty();
+    }
+
+    private static String word(Random random) {
+        String letters = "aeiouknmrstdlpv";
+        StringBuilder w = new StringBuilder();
+        int length = 4 + random.nextInt(5);
+        for (int i = 0; i < length; i++) w.append(letters.charAt(random.nextInt(letters.length())));
+        return w.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.sims.server.service;
+
+import com.opencsv.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowWriterTest {
+
+    @Test
+    void writesPlainFieldsUnquoted() throws Exception {
+        StringWriter out = new StringWriter();
+        new CsvRowWriter(out).field("A001").field("Nimal Perera").field("12").endRow();
+        assertThat(out.toString()).isEqualTo("A001,Nimal Perera,12\r\n");
+    }
+
+    @Test
+    void nullAndEmptyAreEmptyFields() throws Exception {
+        StringWriter out = new StringWriter();
+        new CsvRowWriter(out).field(null).field("").field("x").endRow();
+        assertThat(out.toString()).isEqualTo(",,x\r\n");
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws Exception {
+        StringWriter out = new StringWriter();
+        new CsvRowWriter(out).field("12, Main St").field("say \"hi\"").field("two\nlines").endRow();
+        assertThat(out.toString()).isEqualTo("\"12, Main St\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n");
+    }
+
+    @Test
+    void roundTripsThroughACsvParser() throws Exception {
+        String[] row = {"\"", "a,b", "", "end\"", "line\nbreak"};
+        StringWriter out = new StringWriter();
+        CsvRowWriter writer = new CsvRowWriter(out);
+        for (String field : row) writer.field(field);
+        writer.endRow();
+        writer.field("second").endRow();
+
+        try (CSVReader reader = new CSVReader(new StringReader(out.toString()))) {
+            List<String[]> rows = reader.readAll();
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0)).containsExactly(row);
+            assertThat(rows.get(1)).containsExactly("second");
+        }
+    }
+}
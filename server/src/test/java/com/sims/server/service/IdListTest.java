@@ -0,0 +1,40 @@
+package com.sims.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdListTest {
+
+    @Test
+    void appendThenSortGivesASortedList() {
+        IdList list = new IdList();
+        for (long id : new long[]{9, 3, 7, 1, 5, 11}) list.append(id);
+        list.sort();
+        assertThat(Arrays.copyOf(list.ids, list.size)).containsExactly(1, 3, 5, 7, 9, 11);
+    }
+
+    @Test
+    void insertKeepsOrderAndIgnoresDuplicates() {
+        IdList list = new IdList();
+        for (long id : new long[]{50, 10, 30, 20, 40, 30, 10}) list.insert(id);
+        assertThat(Arrays.copyOf(list.ids, list.size)).containsExactly(10, 20, 30, 40, 50);
+    }
+
+    @Test
+    void removeAndContains() {
+        IdList list = new IdList();
+        for (long id = 1; id <= 100; id++) list.append(id);
+        list.sort();
+
+        assertThat(list.remove(50)).isTrue();
+        assertThat(list.remove(50)).isFalse();
+        assertThat(list.remove(1000)).isFalse();
+        assertThat(list.size).isEqualTo(99);
+        assertThat(list.contains(50)).isFalse();
+        assertThat(list.contains(49)).isTrue();
+        assertThat(list.contains(51)).isTrue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.sims.server.service;
+
+import com.sims.server.service.ImportDuplicateIndex.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportDuplicateIndexTest {
+
+    private final ImportDuplicateIndex index = new ImportDuplicateIndex(List.of(
+            new Object[]{1L, "A001", "200012345678"},
+            new Object[]{2L, "A002", null}));
+
+    @Test
+    void newKeysAreInserted() {
+        var verdict = index.classify(2, "A100", "199912345678", false);
+        assertThat(verdict.outcome()).isEqualTo(Outcome.INSERT);
+        assertThat(verdict.existingId()).isNull();
+    }
+
+    @Test
+    void existingAdmissionNumberIsADuplicateUnlessUpserting() {
+        assertThat(index.classify(2, "a001", null, false).outcome()).isEqualTo(Outcome.DUPLICATE);
+
+        var upsert = index.classify(3, " A001 ", "200012345678", true);
+        assertThat(upsert.outcome()).isEqualTo(Outcome.UPDATE);
+        assertThat(upsert.existingId()).isEqualTo(1L);
+    }
+
+    @Test
+    void nicOfAnotherStudentIsAConflict() {
+        var verdict = index.classify(2, "A002", "200012345678", true);
+        assertThat(verdict.outcome()).isEqualTo(Outcome.CONFLICT);
+        assertThat(verdict.reason()).contains("another student");
+    }
+
+    @Test
+    void keysRepeatedWithinTheFileAreCaughtAndNamedByRow() {
+        index.classify(2, "A100", "N1", false);
+
+        var sameAdmission = index.classify(3, "a100", null, false);
+        assertThat(sameAdmission.outcome()).isEqualTo(Outcome.DUPLICATE);
+        assertThat(sameAdmission.reason()).contains("row 2");
+
+        var sameNic = index.classify(4, "A101", "n1", false);
+        assertThat(sameNic.outcome()).isEqualTo(Outcome.CONFLICT);
+        assertThat(sameNic.reason()).contains("row 2");
+    }
+
+    @Test
+    void releasedKeysCanBeUsedAgain() {
+        index.classify(2, "A100", "N1", false);
+        index.release("A100", "N1");
+
+        assertThat(index.classify(3, "A100", "N1", false).outcome()).isEqualTo(Outcome.INSERT);
+    }
+
+    @Test
+    void blankNicIsIgnored() {
+        index.classify(2, "A100", " ", false);
+        assertThat(index.classify(3, "A101", "", false).outcome()).isEqualTo(Outcome.INSERT);
+    }
+}
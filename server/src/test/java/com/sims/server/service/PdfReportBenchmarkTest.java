@@ -0,0 +1,122 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The streamed student-list PDF at 1k / 10k / 50k rows: time until the first
+ * byte reaches the output, and the live heap's high-water mark while rendering.
+ * As finished pages are flushed, the high-water mark must not grow with the row
+ * count. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class PdfReportBenchmarkTest {
+
+    private final PdfReportService pdfReportService = new PdfReportService();
+
+    @Test
+    void firstByteIsEarlyAndPeakHeapIsFlat() {
+        pdfReportService.writeStudentListPdf(new Students(1_000, new CountingOutputStream()), "warm-up",
+                OutputStream.nullOutputStream());
+
+        StringBuilder report = new StringBuilder("[PdfReportBenchmark]");
+        long[] peaks = new long[3];
+        long firstByteOfLargest = 0;
+        long totalOfLargest = 0;
+        int[] sizes = {1_000, 10_000, 50_000};
+        for (int i = 0; i < sizes.length; i++) {
+            CountingOutputStream out = new CountingOutputStream();
+            Students students = new Students(sizes[i], out);
+            long heapBefore = liveHeap();
+            long start = System.nanoTime();
+            out.start = start;
+
+            int written = pdfReportService.writeStudentListPdf(students, "Benchmark", out);
+            long total = System.nanoTime() - start;
+
+            assertThat(written).isEqualTo(sizes[i]);
+            assertThat(out.firstByteNanos).isPositive();
+            peaks[i] = students.peakHeap - heapBefore;
+            firstByteOfLargest = out.firstByteNanos;
+            totalOfLargest = total;
+            report.append(String.format("%n  %6d rows: first byte %5d ms, total %6d ms, %6d KB, peak heap +%d MB",
+                    sizes[i], out.firstByteNanos / 1_000_000, total / 1_000_000, out.bytes >> 10, peaks[i] >> 20));
+        }
+        System.out.println(report);
+
+        // Pages reach the client while most rows are still to be read
+        assertThat(firstByteOfLargest).isLessThan(totalOfLargest / 4);
+        // 50x the rows, the same working set: only the last unflushed rows are held
+        assertThat(peaks[2] - peaks[0]).isLessThan(16L * 1024 * 1024);
+    }
+
+    /**
+     * Synthetic students. The live heap is sampled about 20 times per render, from the
+     * first byte out onwards, so the GCs it forces do not delay the first byte.
+     */
+    private static final class Students implements Iterator<Student> {
+        private final int size;
+        private final int sampleEvery;
+        private final CountingOutputStream out;
+        private int next;
+        long peakHeap;
+
+        Students(int size, CountingOutputStream out) {
+            this.size = size;
+            this.sampleEvery = Math.max(1, size / 20);
+            this.out = out;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Student next() {
+            if (next >= size) throw new NoSuchElementException();
+            if (out.bytes > 0 && (next % sampleEvery == 0 || next == size - 1)) peakHeap = Math.max(peakHeap, liveHeap());
+            int i = next++;
+            Student s = new Student();
+            s.setAdmissionNumber("A" + i);
+            s.setFullName("Student Number " + i);
+            s.setGrade(i % 2 == 0 ? "12" : "13");
+            s.setGender(i % 2 == 0 ? "MALE" : "FEMALE");
+            s.setStream("COMMERCE");
+            s.setMedium("SINHALA");
+            s.setContactNumber("07" + (10000000 + i));
+            s.setParentContactNumber("07" + (20000000 + i));
+            return s;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long start;
+        long firstByteNanos;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (bytes == 0 && len > 0) firstByteNanos = System.nanoTime() - start;
+            bytes += len;
+        }
+    }
+
+    private static long liveHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
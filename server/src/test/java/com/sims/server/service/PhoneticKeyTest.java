@@ -0,0 +1,40 @@
+package com.sims.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhoneticKeyTest {
+
+    @Test
+    void transliterationVariantsShareAKey() {
+        assertThat(PhoneticKey.of("chathurika")).isEqualTo("caturika").isEqualTo(PhoneticKey.of("chaturika"));
+        assertThat(PhoneticKey.of("tharindu")).isEqualTo(PhoneticKey.of("tarindu"));
+        assertThat(PhoneticKey.of("weerasinghe")).isEqualTo(PhoneticKey.of("virasinghe"));
+        assertThat(PhoneticKey.of("nuwan")).isEqualTo(PhoneticKey.of("nuvan"));
+        assertThat(PhoneticKey.of("kumaara")).isEqualTo(PhoneticKey.of("kumara"));
+        assertThat(PhoneticKey.of("dhanushka")).isEqualTo(PhoneticKey.of("danuska"));
+    }
+
+    @Test
+    void doubledLettersAndTrailingHFold() {
+        assertThat(PhoneticKey.of("pinnaduwa")).isEqualTo("pinaduva");
+        assertThat(PhoneticKey.of("ramesh")).isEqualTo("rames");
+        assertThat(PhoneticKey.of("shah")).isEqualTo("sa");
+        assertThat(PhoneticKey.of("h")).isEqualTo("h");
+    }
+
+    @Test
+    void differentNamesKeepDifferentKeys() {
+        assertThat(PhoneticKey.of("nimal")).isNotEqualTo(PhoneticKey.of("kamal"));
+        assertThat(PhoneticKey.of("perera")).isNotEqualTo(PhoneticKey.of("pereira"));
+    }
+
+    @Test
+    void ofNameKeysEachWordAndSkipsPunctuation() {
+        assertThat(PhoneticKey.ofName("  W.A. Chathurika Perera-Silva ")).containsExactly("v", "a", "caturika", "perera", "silva");
+        assertThat(PhoneticKey.ofName(null)).isEmpty();
+        assertThat(PhoneticKey.ofName("  ")).isEmpty();
+        assertThat(PhoneticKey.ofName("123")).isEmpty();
+    }
+}
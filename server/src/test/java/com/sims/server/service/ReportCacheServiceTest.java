@@ -0,0 +1,148 @@
+package com.sims.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportCacheServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ReportCacheService cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new ReportCacheService(dir.toString(), 512, 24);
+    }
+
+    @Test
+    void missStreamsWhileRenderingAndCachesTheCompletedFile() throws Exception {
+        String key = cache.key("students-csv", "12");
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = cache.serve(key, "text/csv", "students.csv", out -> {
+            out.write("header\r\n".getBytes(StandardCharsets.UTF_8));
+            // The client has the first row before the render is done, and nothing is cached yet
+            assertThat(client.toString(StandardCharsets.UTF_8)).isEqualTo("header\r\n");
+            assertThat(Files.exists(dir.resolve(key))).isFalse();
+            out.write("row\r\n".getBytes(StandardCharsets.UTF_8));
+        }, new MockHttpServletRequest());
+        response.getBody().writeTo(client);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + key + "\"");
+        assertThat(client.toString(StandardCharsets.UTF_8)).isEqualTo("header\r\nrow\r\n");
+        assertThat(Files.readString(dir.resolve(key))).isEqualTo("header\r\nrow\r\n");
+    }
+
+    @Test
+    void hitIsServedFromTheCacheWithoutRendering() throws Exception {
+        String key = cache.key("students-pdf");
+        AtomicInteger renders = new AtomicInteger();
+        ReportCacheService.ReportRenderer renderer = out -> {
+            renders.incrementAndGet();
+            out.write("pdf".getBytes(StandardCharsets.UTF_8));
+        };
+        cache.serve(key, "application/pdf", "r.pdf", renderer, new MockHttpServletRequest())
+                .getBody().writeTo(new ByteArrayOutputStream());
+
+        ResponseEntity<StreamingResponseBody> hit =
+                cache.serve(key, "application/pdf", "r.pdf", renderer, new MockHttpServletRequest());
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+        hit.getBody().writeTo(client);
+
+        assertThat(renders).hasValue(1);
+        assertThat(hit.getHeaders().getContentLength()).isEqualTo(3);
+        assertThat(client.toString(StandardCharsets.UTF_8)).isEqualTo("pdf");
+    }
+
+    @Test
+    void hitSurvivesEvictionBetweenLookupAndDownload() throws Exception {
+        String key = cache.key("students-xlsx");
+        byte[] content = new byte[256 * 1024];
+        for (int i = 0; i < content.length; i++) content[i] = (byte) i;
+        Files.write(dir.resolve(key), content);
+
+        ResponseEntity<StreamingResponseBody> hit =
+                cache.serve(key, "application/octet-stream", "s.xlsx", out -> {
+                    throw new AssertionError("must not render");
+                }, new MockHttpServletRequest());
+        Files.delete(dir.resolve(key)); // what evict() does to the least recently used file
+        ByteArrayOutputStream client = new ByteArrayOutputStream();
+        hit.getBody().writeTo(client);
+
+        assertThat(client.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void hitIsHandedToSendfileWhereTheConnectorOffersIt() throws Exception {
+        String key = cache.key("students-pdf");
+        Files.write(dir.resolve(key), new byte[1234]);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        ResponseEntity<StreamingResponseBody> hit = cache.serve(key, "application/pdf", "r.pdf", out -> {
+            throw new AssertionError("must not render");
+        }, request);
+
+        assertThat(hit.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(hit.getBody()).isNull();
+        assertThat(hit.getHeaders().getContentLength()).isEqualTo(1234);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(dir.resolve(key).toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(0L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(1234L);
+    }
+
+    @Test
+    void failedRenderLeavesNothingInTheCache() throws Exception {
+        String key = cache.key("students-csv");
+        ResponseEntity<StreamingResponseBody> response = cache.serve(key, "text/csv", "s.csv", out -> {
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("database went away");
+        }, new MockHttpServletRequest());
+
+        assertThatThrownBy(() -> response.getBody().writeTo(new ByteArrayOutputStream()))
+                .hasMessageContaining("database went away");
+        try (var files = Files.list(dir)) {
+            assertThat(files.toList()).isEmpty();
+        }
+    }
+
+    @Test
+    void matchingEtagIsAnsweredWith304() throws Exception {
+        String key = cache.key("students-csv");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students/export");
+        request.addHeader("If-None-Match", "\"" + key + "\"");
+
+        ResponseEntity<StreamingResponseBody> response = cache.serve(key, "text/csv", "s.csv", out -> {
+            throw new AssertionError("must not render");
+        }, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void studentChangeMovesTheKeyOn() {
+        String before = cache.key("students-csv", "12");
+        cache.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, List.of(1L)));
+        assertThat(cache.key("students-csv", "12")).isNotEqualTo(before);
+    }
+}
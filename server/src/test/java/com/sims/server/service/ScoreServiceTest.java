@@ -0,0 +1,23 @@
+package com.sims.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreServiceTest {
+
+    private final ScoreService scoreService = new ScoreService();
+
+    @Test
+    void pointsAreGradePointsTimesSubjectWeight() {
+        Map<String, Double> weights = Map.of("MATHEMATICS", 2.0, "SCIENCE", 1.5);
+
+        assertThat(scoreService.points("MATHEMATICS", "A", weights)).isEqualTo(10.0);
+        assertThat(scoreService.points("science", "b", weights)).isEqualTo(6.0);
+        assertThat(scoreService.points("HISTORY", "C", weights)).isEqualTo(3.0); // unweighted subject
+        assertThat(scoreService.points("MATHEMATICS", "W", weights)).isZero();
+        assertThat(scoreService.points("MATHEMATICS", "X", weights)).isZero(); // unknown grade
+    }
+}
@@ -0,0 +1,137 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import com.sims.server.dto.ImportResultDTO;
+import com.sims.server.model.Student;
+import com.sims.server.repository.StudentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importing the same student CSV through the old per-row {@code studentRepository.save}
+ * and through the chunked JDBC batches of {@link StudentImportWriter#writeChunk}.
+ * Both must store every row, and the chunked import must have the higher rows/sec.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Import({StudentImportService.class, StudentImportWriter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // each path commits as it would in production
+class StudentImportBenchmarkTest extends MySqlTest {
+
+    private static final int ROWS = 5_000;
+
+    @MockitoBean
+    private StudentStatsService studentStatsService;
+    @MockitoBean
+    private AdmissionRollupService admissionRollupService;
+
+    @Autowired private StudentImportService importService;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void chunkedImportOutrunsPerRowSaves() throws Exception {
+        Path file = writeCsv(dir.resolve("students.csv"));
+
+        long start = System.nanoTime();
+        int saved = importPerRow(file);
+        double perRowSecs = (System.nanoTime() - start) / 1e9;
+        assertThat(saved).isEqualTo(ROWS);
+        assertThat(studentCount()).isEqualTo(ROWS);
+        clearStudents();
+
+        start = System.nanoTime();
+        ImportResultDTO result = importService.importStudents(file, "students.csv", false, false,
+                "benchmark", new ImportProgress() {});
+        double chunkedSecs = (System.nanoTime() - start) / 1e9;
+        assertThat(result.getInsertedCount()).isEqualTo(ROWS);
+        assertThat(studentCount()).isEqualTo(ROWS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_al_subjects", Long.class))
+                .isEqualTo(3L * ROWS);
+
+        System.out.printf("[StudentImportBenchmark] %d rows: per-row save %.0f rows/s (%.1f s), " +
+                        "chunked %.0f rows/s (%.1f s)%n",
+                ROWS, ROWS / perRowSecs, perRowSecs, ROWS / chunkedSecs, chunkedSecs);
+        assertThat(chunkedSecs).isLessThan(perRowSecs);
+    }
+
+    /** The import as it was before chunking: map each row, then save it on its own. */
+    private int importPerRow(Path file) throws Exception {
+        int[] saved = {0};
+        Map<String, Integer> colIndex = new HashMap<>();
+        ImportFileReader.read(file, "students.csv", (rowNum, values) -> {
+            if (rowNum == 1) {
+                for (int i = 0; i < values.length; i++) colIndex.put(values[i].trim().toLowerCase(), i);
+                return;
+            }
+            studentRepository.save(toStudent(values, colIndex));
+            saved[0]++;
+        });
+        return saved[0];
+    }
+
+    private static Student toStudent(String[] row, Map<String, Integer> col) {
+        Student s = new Student();
+        s.setStudentType("INTERNAL");
+        s.setRegistrationStatus("ACTIVE");
+        s.setAdmissionNumber(row[col.get("admissionnumber")]);
+        s.setFullName(row[col.get("fullname")]);
+        s.setEmail(row[col.get("email")]);
+        s.setNicNumber(row[col.get("nicnumber")]);
+        s.setGrade(row[col.get("grade")]);
+        s.setAlStream(row[col.get("alstream")]);
+        s.setStream(row[col.get("alstream")]);
+        s.setGender(row[col.get("gender")]);
+        s.setContactNumber(row[col.get("contactnumber")]);
+        s.setAlSubjects(new ArrayList<>(List.of(row[col.get("alsubjects")].split(";"))));
+        return s;
+    }
+
+    private static Path writeCsv(Path file) throws Exception {
+        String[] streams = {"PHYSICAL_SCIENCE", "BIOLOGICAL_SCIENCE", "COMMERCE", "ARTS", "TECHNOLOGY"};
+        try (Writer out = Files.newBufferedWriter(file)) {
+            CsvRowWriter csv = new CsvRowWriter(out);
+            for (String h : new String[]{"admissionNumber", "fullName", "email", "nicNumber", "grade",
+                    "alStream", "gender", "contactNumber", "alSubjects"}) {
+                csv.field(h);
+            }
+            csv.endRow();
+            for (int i = 0; i < ROWS; i++) {
+                csv.field("B" + i).field("Student " + i).field("student" + i + "@example.com")
+                        .field(String.valueOf(200000000000L + i)).field(i % 2 == 0 ? "12" : "13")
+                        .field(streams[i % streams.length]).field(i % 2 == 0 ? "MALE" : "FEMALE")
+                        .field("07" + (10000000 + i)).field("SUBJECT_A;SUBJECT_B;SUBJECT_C").endRow();
+            }
+        }
+        return file;
+    }
+
+    private long studentCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Long.class);
+    }
+
+    private void clearStudents() {
+        jdbcTemplate.update("DELETE FROM student_al_subjects");
+        jdbcTemplate.update("DELETE FROM students");
+    }
+}
@@ -0,0 +1,101 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import com.sims.server.dto.StudentListItemDTO;
+import com.sims.server.dto.StudentPageDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Student lists must cost a fixed number of statements however many rows they
+ * return: the list query plus one alSubjects query per 1000 rows, never one
+ * lazy load per student. Counted with Hibernate statistics on MySQL.
+ */
+@Import(StudentService.class)
+class StudentListStatementCountTest extends MySqlTest {
+
+    private static final int STUDENTS = 600;
+
+    @MockitoBean
+    private PdfReportService pdfReportService;
+    @MockitoBean
+    private AdmissionRollupService admissionRollupService;
+    @MockitoBean
+    private StudentSearchIndex searchIndex; // search() returns null: the database filters
+    @MockitoBean
+    private StudentNameIndex nameIndex;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Object[]{"L" + i, "Student " + i, i % 2 == 0 ? "12" : "13"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO students (admission_number, full_name, grade, " +
+                "student_type, registration_status) VALUES (?, ?, ?, 'INTERNAL', 'ACTIVE')", students);
+        for (String subject : List.of("ECONOMICS", "ACCOUNTING", "BUSINESS_STUDIES")) {
+            jdbcTemplate.update("INSERT INTO student_al_subjects (student_id, subject) " +
+                    "SELECT id, ? FROM students WHERE admission_number LIKE 'L%'", subject);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void everyPageSizeIsTwoStatements() {
+        for (int limit : new int[]{1, 10, 50, 200}) {
+            statistics.clear();
+            StudentPageDTO page = studentService.getStudentPage(null, null, null, "ACTIVE", null,
+                    "name", "asc", limit, null);
+
+            assertThat(page.getItems()).hasSize(limit);
+            assertThat(page.getItems()).allSatisfy(item -> assertThat(item.getAlSubjects()).hasSize(3));
+            assertThat(statistics.getPrepareStatementCount()).as("limit " + limit).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void followingPagesCostTheSame() {
+        StudentPageDTO first = studentService.getStudentPage(null, "12", null, null, null,
+                "name", "asc", 50, null);
+        statistics.clear();
+        StudentPageDTO second = studentService.getStudentPage(null, "12", null, null, null,
+                "name", "asc", 50, first.getNextCursor());
+
+        assertThat(second.getItems()).hasSize(50);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void wholeListIsTwoStatements() {
+        statistics.clear();
+        List<StudentListItemDTO> all = studentService.getAllStudents(null, null, null, "ACTIVE", null);
+
+        assertThat(all).hasSizeGreaterThanOrEqualTo(STUDENTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
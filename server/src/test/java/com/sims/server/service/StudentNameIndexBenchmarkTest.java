@@ -0,0 +1,111 @@
+package com.sims.server.service;
+
+import com.sims.server.repository.StudentRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fuzzy name search over 100k students: a misspelt query must find the intended
+ * student first, and answer in milliseconds. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class StudentNameIndexBenchmarkTest {
+
+    private static final int STUDENTS = 100_000;
+    private static final int QUERIES = 2_000;
+    private static final int GIVEN_NAMES = 8_000;
+    private static final int SURNAMES = 5_000;
+
+    private static final String[] ONSETS = {"", "k", "g", "c", "j", "t", "d", "n", "p", "b", "m", "y",
+            "r", "l", "v", "s", "h", "th", "dh", "ch", "sh"};
+    private static final String[] VOWELS = {"a", "i", "u", "e", "o", "aa", "ee", "oo"};
+
+    @Test
+    void misspeltNamesAreFoundFirstInMilliseconds() {
+        Random random = new Random(7);
+        // Names repeat across a school: draw them from pools of given names and surnames
+        String[] given = new String[GIVEN_NAMES];
+        String[] surnames = new String[SURNAMES];
+        for (int i = 0; i < given.length; i++) given[i] = name(random);
+        for (int i = 0; i < surnames.length; i++) surnames[i] = name(random) + (random.nextBoolean() ? "" : name(random));
+        List<Object[]> rows = new ArrayList<>(STUDENTS);
+        for (long id = 1; id <= STUDENTS; id++) {
+            String surname = surnames[random.nextInt(surnames.length)];
+            rows.add(new Object[]{id, given[random.nextInt(given.length)] + " " + surname,
+                    given[random.nextInt(given.length)] + " " + surname});
+        }
+        StudentRepository repository = mock(StudentRepository.class);
+        when(repository.findNameKeys()).thenReturn(rows);
+        StudentNameIndex index = new StudentNameIndex();
+        ReflectionTestUtils.setField(index, "studentRepository", repository);
+
+        long buildStart = System.nanoTime();
+        index.rebuild();
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        for (int i = 0; i < 200; i++) index.search(typo((String) rows.get(i)[1], random), 20); // warm-up
+
+        long[] nanos = new long[QUERIES];
+        int foundFirst = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            Object[] target = rows.get(random.nextInt(STUDENTS));
+            String query = typo((String) target[1], random);
+            long start = System.nanoTime();
+            List<StudentNameIndex.Match> matches = index.search(query, 20);
+            nanos[i] = System.nanoTime() - start;
+            // Another student may carry the same name; the target must still score at the top
+            if (!matches.isEmpty() && matches.stream()
+                    .filter(m -> m.score() == matches.get(0).score())
+                    .anyMatch(m -> m.studentId() == (Long) target[0])) foundFirst++;
+        }
+        Arrays.sort(nanos);
+        double medianMs = nanos[QUERIES / 2] / 1e6;
+        double p99Ms = nanos[QUERIES * 99 / 100] / 1e6;
+        System.out.printf("[StudentNameIndexBenchmark] %d students indexed in %d ms; query median %.2f ms, "
+                + "p99 %.2f ms; intended student ranked first in %d of %d%n",
+                STUDENTS, buildMs, medianMs, p99Ms, foundFirst, QUERIES);
+
+        assertThat(foundFirst).isGreaterThanOrEqualTo(QUERIES * 95 / 100);
+        assertThat(medianMs).isLessThan(5.0);
+        assertThat(p99Ms).isLessThan(50.0);
+    }
+
+    /** A romanised name of two or three syllables, spelt with the variation PhoneticKey folds. */
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int s = 0; s < syllables; s++) {
+            name.append(ONSETS[random.nextInt(ONSETS.length)]).append(VOWELS[random.nextInt(VOWELS.length)]);
+        }
+        if (random.nextBoolean()) name.append("n");
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /** Respells one letter pair the way transliteration does: adds or drops an h, or doubles a vowel. */
+    private static String typo(String name, Random random) {
+        StringBuilder out = new StringBuilder();
+        for (String word : name.split(" ")) {
+            if (!out.isEmpty()) out.append(' ');
+            String w = word;
+            int i = random.nextInt(w.length());
+            char c = Character.toLowerCase(w.charAt(i));
+            if ("tdcs".indexOf(c) >= 0 && (i + 1 == w.length() || w.charAt(i + 1) != 'h')) {
+                w = w.substring(0, i + 1) + "h" + w.substring(i + 1);
+            } else if ("aeiou".indexOf(c) >= 0) {
+                w = w.substring(0, i + 1) + c + w.substring(i + 1);
+            }
+            out.append(w);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.sims.server.service;
+
+import com.sims.server.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentNameIndexTest {
+
+    private final StudentRepository repository = mock(StudentRepository.class);
+    private final StudentNameIndex index = new StudentNameIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "studentRepository", repository);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static List<Long> ids(List<StudentNameIndex.Match> matches) {
+        return matches.stream().map(StudentNameIndex.Match::studentId).toList();
+    }
+
+    @Test
+    void searchIsNullUntilBuilt() {
+        assertThat(index.search("nimal", 10)).isNull();
+    }
+
+    @Test
+    void exactOwnNameRanksAboveParentNameAboveNearMisses() {
+        when(repository.findNameKeys()).thenReturn(rows(
+                new Object[]{1L, "Chathurika Perera", "Sunil Perera"},
+                new Object[]{2L, "Nimal Silva", "Chaturika Silva"},
+                new Object[]{3L, "Chathurka Perera", null},
+                new Object[]{4L, "Kamal Fernando", "Ruwan Fernando"}));
+        index.rebuild();
+
+        List<StudentNameIndex.Match> matches = index.search("Chaturika", 10);
+
+        assertThat(ids(matches)).containsExactly(1L, 2L, 3L);
+        assertThat(matches.get(0).score()).isEqualTo(1.0);
+        assertThat(matches.get(0).matchedOn()).isEqualTo("fullName");
+        assertThat(matches.get(1).score()).isEqualTo(0.9);
+        assertThat(matches.get(1).matchedOn()).isEqualTo("parentName");
+        assertThat(matches.get(2).score()).isEqualTo(1.0 - 1.0 / 8); // one edit in an 8-letter key
+        assertThat(ids(index.search("Chaturika", 1))).containsExactly(1L);
+        assertThat(index.search("Thisara", 10)).isEmpty();
+    }
+
+    @Test
+    void savedAndDeletedStudentsAreAppliedAfterTheBuild() {
+        when(repository.findNameKeys()).thenReturn(rows(
+                new Object[]{1L, "Tharindu Perera", null},
+                new Object[]{2L, "Kamal Silva", null}));
+        index.rebuild();
+
+        when(repository.findNameKeysByIdIn(anyCollection())).thenReturn(rows(
+                new Object[]{1L, "Tharindu Jayasinghe", null}));
+        index.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, List.of(1L)));
+        index.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.DELETED, List.of(2L)));
+
+        assertThat(ids(index.search("Tarindu Jayasinghe", 10))).containsExactly(1L);
+        assertThat(index.search("Perera", 10)).isEmpty();
+        assertThat(index.search("Silva", 10)).isEmpty();
+    }
+
+    @Test
+    void changesCommittedDuringTheBuildAreReplayed() {
+        when(repository.findNameKeys()).thenAnswer(inv -> {
+            index.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, List.of(1L, 5L)));
+            return rows(new Object[]{1L, "Tharindu Perera", null});
+        });
+        when(repository.findNameKeysByIdIn(anyCollection())).thenReturn(rows(
+                new Object[]{1L, "Tharindu Jayasinghe", null},
+                new Object[]{5L, "Dilani Jayasinghe", null}));
+        index.rebuild();
+
+        assertThat(index.search("Perera", 10)).isEmpty();
+        assertThat(ids(index.search("Jayasinghe", 10))).containsExactlyInAnyOrder(1L, 5L);
+    }
+}
@@ -0,0 +1,89 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import com.sims.server.dto.StudentListItemDTO;
+import com.sims.server.dto.StudentPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset paging over the nullable sort columns: walking every page must visit each
+ * student once, NULLs first ascending and last descending, ties in id order.
+ */
+@Import(StudentService.class)
+class StudentPagingTest extends MySqlTest {
+
+    @MockitoBean
+    private PdfReportService pdfReportService;
+    @MockitoBean
+    private AdmissionRollupService admissionRollupService;
+    @MockitoBean
+    private StudentSearchIndex searchIndex;
+    @MockitoBean
+    private StudentNameIndex nameIndex;
+
+    @Autowired private StudentService studentService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // In ascending (grade, id) order: NULL grades, then '', then by value
+    private final List<Long> byGrade = new ArrayList<>();
+    // In ascending (admission_number, id) order
+    private final List<Long> byAdmission = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String[][] students = {
+                // admission number, grade
+                {"A3", "12"}, {null, null}, {"A1", "11"}, {null, ""}, {"A2", null}, {"A0", "11"}, {null, "10"},
+        };
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < students.length; i++) {
+            jdbcTemplate.update("INSERT INTO students (admission_number, full_name, grade, student_type, " +
+                    "registration_status) VALUES (?, ?, ?, 'INTERNAL', 'ACTIVE')",
+                    students[i][0], "Student " + i, students[i][1]);
+            ids.add(jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class));
+        }
+        byGrade.addAll(List.of(ids.get(1), ids.get(4), ids.get(3), ids.get(6), ids.get(2), ids.get(5), ids.get(0)));
+        byAdmission.addAll(List.of(ids.get(1), ids.get(3), ids.get(6), ids.get(5), ids.get(2), ids.get(4), ids.get(0)));
+    }
+
+    @Test
+    void gradePagesVisitEveryStudentInOrder() {
+        assertThat(walk("grade", "asc")).containsExactlyElementsOf(byGrade);
+        assertThat(walk("grade", "desc")).containsExactlyElementsOf(reversed(byGrade));
+    }
+
+    @Test
+    void admissionNumberPagesVisitEveryStudentInOrder() {
+        assertThat(walk("admissionNumber", "asc")).containsExactlyElementsOf(byAdmission);
+        assertThat(walk("admissionNumber", "desc")).containsExactlyElementsOf(reversed(byAdmission));
+    }
+
+    private List<Long> walk(String sort, String direction) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            StudentPageDTO page = studentService.getStudentPage(null, null, null, null, null,
+                    sort, direction, 2, cursor);
+            for (StudentListItemDTO s : page.getItems()) seen.add(s.getId());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static List<Long> reversed(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
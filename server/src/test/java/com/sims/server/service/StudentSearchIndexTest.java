@@ -0,0 +1,109 @@
+package com.sims.server.service;
+
+import com.sims.server.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentSearchIndexTest {
+
+    private final StudentRepository repository = mock(StudentRepository.class);
+    private final StudentSearchIndex index = new StudentSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "studentRepository", repository);
+    }
+
+    private static Object[] row(long id, String name, String admission, String nic) {
+        return new Object[]{id, name, admission, nic};
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    @Test
+    void searchIsNullUntilBuilt() {
+        assertThat(index.search("perera")).isNull();
+    }
+
+    @Test
+    void findsSubstringsOfAnyFieldCaseInsensitively() {
+        when(repository.findSearchKeys()).thenReturn(rows(
+                row(1, "Nimal Perera", "A001", "200012345678"),
+                row(2, "Kamal Silva", "A002", null),
+                row(3, "Sunil Pereira", "B003", "199912345678")));
+        index.rebuild();
+
+        assertThat(index.search("PERE")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("a002")).containsExactly(2L);
+        assertThat(index.search("1999123")).containsExactly(3L);
+        assertThat(index.search("nobody")).isEmpty();
+    }
+
+    @Test
+    void queriesShorterThanATrigramFallBackToTheDatabase() {
+        when(repository.findSearchKeys()).thenReturn(rows(row(1, "Nimal Perera", "A001", null)));
+        index.rebuild();
+
+        assertThat(index.search("a")).isNull();
+        assertThat(index.search(" pe ")).isNull();
+    }
+
+    @Test
+    void savedAndDeletedStudentsAreAppliedAfterTheBuild() {
+        when(repository.findSearchKeys()).thenReturn(rows(
+                row(1, "Nimal Perera", "A001", null),
+                row(2, "Kamal Silva", "A002", null)));
+        index.rebuild();
+
+        when(repository.findSearchKeysByIdIn(anyCollection()))
+                .thenReturn(rows(row(1, "Nimal Fernando", "A001", null)));
+        index.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, List.of(1L)));
+        index.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.DELETED, List.of(2L)));
+
+        assertThat(index.search("perera")).isEmpty();
+        assertThat(index.search("fernando")).containsExactly(1L);
+        assertThat(index.search("silva")).isEmpty();
+    }
+
+    @Test
+    void changesCommittedDuringTheBuildAreReplayed() {
+        // The snapshot is read with the old name; the rename commits while it is loading
+        when(repository.findSearchKeys()).thenAnswer(inv -> {
+            index.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, List.of(1L, 4L)));
+            return rows(row(1, "Nimal Perera", "A001", null));
+        });
+        when(repository.findSearchKeysByIdIn(anyCollection())).thenReturn(rows(
+                row(1, "Nimal Fernando", "A001", null),
+                row(4, "Ruwan Fernando", "A004", null)));
+        index.rebuild();
+
+        assertThat(index.search("perera")).isEmpty();
+        assertThat(index.search("fernando")).containsExactlyInAnyOrder(1L, 4L);
+    }
+
+    @Test
+    void changesAfterAFailedBuildAreNotHeld() {
+        when(repository.findSearchKeys()).thenThrow(new IllegalStateException("database went away"));
+        try {
+            index.rebuild();
+        } catch (IllegalStateException expected) {
+            // the index stays unbuilt and search falls back to the database
+        }
+        index.onStudentChange(new StudentChangeEvent(StudentChangeEvent.Kind.SAVED, List.of(1L)));
+
+        assertThat(index.search("perera")).isNull();
+        PendingChanges pending = (PendingChanges) ReflectionTestUtils.getField(index, "pending");
+        assertThat(pending.drainOrFinish()).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+import com.sims.server.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentServiceRequeueTest {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final AdmissionRollupService admissionRollupService = mock(AdmissionRollupService.class);
+    private final StudentService studentService = new StudentService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentService, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(studentService, "admissionRollupService", admissionRollupService);
+        when(studentRepository.save(any(Student.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private Student student(String status) {
+        Student s = new Student();
+        s.setRegistrationStatus(status);
+        s.setRejectionReason("REJECTED".equals(status) ? "Incomplete O/L results" : null);
+        when(studentRepository.findById(7L)).thenReturn(Optional.of(s));
+        return s;
+    }
+
+    @Test
+    void rejectedStudentIsRequeuedAndCounted() {
+        Student s = student("REJECTED");
+
+        Student saved = studentService.requeueStudent(7L);
+
+        assertThat(saved.getRegistrationStatus()).isEqualTo("PENDING_APPROVAL");
+        assertThat(saved.getRejectionReason()).isNull();
+        verify(admissionRollupService).record(eq(AdmissionRollupService.Event.REQUEUED), eq(s), any(LocalDateTime.class));
+    }
+
+    @Test
+    void alreadyPendingStudentIsNotCountedAgain() {
+        student("PENDING_APPROVAL");
+
+        studentService.requeueStudent(7L);
+
+        verify(admissionRollupService, never())
+                .record(eq(AdmissionRollupService.Event.REQUEUED), any(Student.class), any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,93 @@
+package com.sims.server.service;
+
+import com.sims.server.model.Student;
+import com.sims.server.repository.OLResultRepository;
+import com.sims.server.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentServiceStatusEventTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2026, 1, 5, 9, 30);
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final OLResultRepository olResultRepository = mock(OLResultRepository.class);
+    private final AdmissionRollupService admissionRollupService = mock(AdmissionRollupService.class);
+    private final StudentService studentService = new StudentService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentService, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(studentService, "olResultRepository", olResultRepository);
+        ReflectionTestUtils.setField(studentService, "admissionRollupService", admissionRollupService);
+        when(studentRepository.save(any(Student.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(olResultRepository.countByStudentId(7L)).thenReturn(9L);
+    }
+
+    private Student student(String status) {
+        Student s = new Student();
+        s.setRegistrationStatus(status);
+        when(studentRepository.findById(7L)).thenReturn(Optional.of(s));
+        return s;
+    }
+
+    @Test
+    void pendingStudentIsApprovedAndCounted() {
+        Student s = student("PENDING_APPROVAL");
+
+        Student saved = studentService.approveStudent(7L, "A100");
+
+        assertThat(saved.getRegistrationStatus()).isEqualTo("ACTIVE");
+        assertThat(saved.getApprovedAt()).isNotNull();
+        verify(admissionRollupService).record(AdmissionRollupService.Event.APPROVED, s, saved.getApprovedAt());
+    }
+
+    @Test
+    void alreadyActiveStudentIsNotCountedAgain() {
+        Student s = student("ACTIVE");
+        s.setApprovedAt(EARLIER);
+
+        Student saved = studentService.approveStudent(7L, "A100");
+
+        assertThat(saved.getApprovedAt()).isEqualTo(EARLIER);
+        verify(admissionRollupService, never())
+                .record(eq(AdmissionRollupService.Event.APPROVED), any(Student.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void pendingStudentIsRejectedAndCounted() {
+        Student s = student("PENDING_APPROVAL");
+
+        Student saved = studentService.rejectStudent(7L, "Incomplete O/L results");
+
+        assertThat(saved.getRegistrationStatus()).isEqualTo("REJECTED");
+        assertThat(saved.getRejectedAt()).isNotNull();
+        verify(admissionRollupService).record(AdmissionRollupService.Event.REJECTED, s, saved.getRejectedAt());
+    }
+
+    @Test
+    void alreadyRejectedStudentIsNotCountedAgainButKeepsTheNewReason() {
+        Student s = student("REJECTED");
+        s.setRejectionReason("Incomplete O/L results");
+        s.setRejectedAt(EARLIER);
+
+        Student saved = studentService.rejectStudent(7L, "Duplicate application");
+
+        assertThat(saved.getRejectionReason()).isEqualTo("Duplicate application");
+        assertThat(saved.getRejectedAt()).isEqualTo(EARLIER);
+        verify(admissionRollupService, never())
+                .record(eq(AdmissionRollupService.Event.REJECTED), any(Student.class), any(LocalDateTime.class));
+    }
+}
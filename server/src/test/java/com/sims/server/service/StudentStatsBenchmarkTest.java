@@ -0,0 +1,120 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import com.sims.server.repository.StudentRepository;
+import com.sims.server.service.StudentStats.Cell;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard counters on 100k students: the single grouped query rolled up by
+ * {@link StudentStats} against the eight count queries it replaced. Both must
+ * agree, and the grouped query must be the faster. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentStatsBenchmarkTest extends MySqlTest {
+
+    private static final int STUDENTS = 100_000;
+    private static final int RUNS = 30;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update(
+                "INSERT INTO students (admission_number, full_name, gender, grade, al_stream, " +
+                "student_type, registration_status) " +
+                "WITH RECURSIVE d (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM d WHERE n < 9), " +
+                "nums (n) AS (SELECT a.n + 10 * b.n + 100 * c.n + 1000 * e.n + 10000 * f.n " +
+                "FROM d a, d b, d c, d e, d f) " +
+                "SELECT CONCAT('S', n), CONCAT('Student ', n), IF(n % 2 = 0, 'MALE', 'FEMALE'), " +
+                "CAST(6 + n % 8 AS CHAR), " +
+                "IF(n % 8 >= 6, ELT(1 + n % 5, 'PHYSICAL_SCIENCE', 'BIOLOGICAL_SCIENCE', 'COMMERCE', " +
+                "'ARTS', 'TECHNOLOGY'), NULL), " +
+                "IF(n % 20 = 0, 'EXTERNAL', 'INTERNAL'), " +
+                "CASE n % 50 WHEN 0 THEN 'PENDING_APPROVAL' WHEN 1 THEN 'REJECTED' ELSE 'ACTIVE' END " +
+                "FROM nums WHERE n < " + STUDENTS);
+        jdbcTemplate.execute("ANALYZE TABLE students");
+    }
+
+    @Test
+    void oneGroupedQueryBeatsEightCounts() {
+        Supplier<Map<String, Object>> grouped = () -> {
+            List<Cell> cells = new ArrayList<>();
+            for (Object[] row : studentRepository.countByStatusGradeGenderStream()) {
+                cells.add(new Cell((String) row[0], (String) row[1], (String) row[2], (String) row[3], (Long) row[4]));
+            }
+            return new StudentStats(cells).dashboardCounters();
+        };
+        // What GET /api/dashboard/stats ran before the counters were merged
+        Supplier<Map<String, Object>> separate = () -> {
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("totalStudents", count("registration_status = 'ACTIVE'"));
+            counters.put("grade12Count", count("grade = '12'"));
+            counters.put("grade13Count", count("grade = '13'"));
+            counters.put("maleCount", count("gender = 'MALE'"));
+            counters.put("femaleCount", count("gender = 'FEMALE'"));
+            counters.put("newAdmissionsThisYear", count("grade = '12'"));
+            counters.put("pendingApplications", count("registration_status = 'PENDING_APPROVAL'"));
+            Map<String, Long> streamCounts = new LinkedHashMap<>();
+            jdbcTemplate.query("SELECT al_stream, COUNT(*) FROM students WHERE registration_status = 'ACTIVE' " +
+                    "GROUP BY al_stream", rs -> {
+                if (rs.getString(1) != null) streamCounts.put(rs.getString(1), rs.getLong(2));
+            });
+            counters.put("streamCounts", streamCounts);
+            return counters;
+        };
+
+        Map<String, Object> fromGrouped = grouped.get();
+        Map<String, Object> fromSeparate = separate.get();
+        assertThat(fromGrouped).hasSameSizeAs(fromSeparate);
+        fromSeparate.forEach((name, value) -> {
+            if (value instanceof Map<?, ?> streams) {
+                assertThat((Map<?, ?>) fromGrouped.get(name)).isEqualTo(streams);
+            } else {
+                assertThat(fromGrouped.get(name)).as(name).isEqualTo(value);
+            }
+        });
+
+        double groupedMs = medianMs(grouped);
+        double separateMs = medianMs(separate);
+        System.out.printf("[StudentStatsBenchmark] %d students: grouped query %.2f ms, eight counts %.2f ms%n",
+                STUDENTS, groupedMs, separateMs);
+        assertThat(groupedMs).isLessThan(separateMs);
+    }
+
+    private long count(String where) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE " + where, Long.class);
+    }
+
+    private static double medianMs(Supplier<?> run) {
+        for (int i = 0; i < 5; i++) run.get(); // warm-up
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1e6;
+    }
+}
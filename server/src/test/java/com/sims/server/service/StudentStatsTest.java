@@ -0,0 +1,70 @@
+package com.sims.server.service;
+
+import com.sims.server.service.StudentStats.Cell;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class StudentStatsTest {
+
+    private final StudentStats stats = new StudentStats(List.of(
+            new Cell("ACTIVE", "12", "MALE", "COMMERCE", 30),
+            new Cell("ACTIVE", "12", "FEMALE", "COMMERCE", 25),
+            new Cell("ACTIVE", "13", "FEMALE", "ARTS", 20),
+            new Cell("ACTIVE", "10", "MALE", null, 40),
+            new Cell("PENDING_APPROVAL", "12", "MALE", "ARTS", 7),
+            new Cell("REJECTED", "13", null, "COMMERCE", 3),
+            new Cell("INACTIVE", "11", "FEMALE", null, 0)));
+
+    @Test
+    void totalsCountEveryStatus() {
+        assertThat(stats.total()).isEqualTo(125);
+        assertThat(stats.countByRegistrationStatus("ACTIVE")).isEqualTo(115);
+        assertThat(stats.countByRegistrationStatus("PENDING_APPROVAL")).isEqualTo(7);
+        assertThat(stats.countByGrade("12")).isEqualTo(62);
+        assertThat(stats.countByGrade("13")).isEqualTo(23);
+        assertThat(stats.countByGender("MALE")).isEqualTo(77);
+        assertThat(stats.countByGender("FEMALE")).isEqualTo(45);
+    }
+
+    @Test
+    void unknownKeysCountZero() {
+        assertThat(stats.countByRegistrationStatus("GRADUATED")).isZero();
+        assertThat(stats.countByGrade("5")).isZero();
+        assertThat(stats.countByGender("OTHER")).isZero();
+    }
+
+    @Test
+    void distributionsCoverActiveStudentsOnlyAndKeepNullKeys() {
+        assertThat(stats.activeByStream()).containsExactly(
+                entry("COMMERCE", 55L), entry("ARTS", 20L), entry(null, 40L));
+        assertThat(stats.activeByGender()).containsOnly(entry("MALE", 70L), entry("FEMALE", 45L));
+        assertThat(stats.activeByGrade()).containsOnly(
+                entry("12", 55L), entry("13", 20L), entry("10", 40L));
+    }
+
+    @Test
+    void zeroCellsAddNoKeys() {
+        assertThat(stats.countByRegistrationStatus("INACTIVE")).isZero();
+        assertThat(stats.countByGrade("11")).isZero();
+    }
+
+    @Test
+    void dashboardCountersKeepTheirResponseNames() {
+        Map<String, Object> counters = stats.dashboardCounters();
+
+        assertThat(counters).containsEntry("totalStudents", 115L)
+                .containsEntry("grade12Count", 62L)
+                .containsEntry("grade13Count", 23L)
+                .containsEntry("maleCount", 77L)
+                .containsEntry("femaleCount", 45L)
+                .containsEntry("newAdmissionsThisYear", 62L)
+                .containsEntry("pendingApplications", 7L);
+        // Students without a stream are left out of the stream map
+        assertThat(counters.get("streamCounts")).isEqualTo(Map.of("COMMERCE", 55L, "ARTS", 20L));
+    }
+}
@@ -0,0 +1,104 @@
+package com.sims.server.service;
+
+import com.sims.server.MySqlTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The .xlsx student export at 5k / 20k / 80k rows. The live heap is measured when
+ * the workbook starts writing out, after every row has been added: a streaming
+ * workbook then holds only its last 100 rows, so the heap it needs must not grow
+ * with the row count. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@Import(StudentService.class)
+class StudentXlsxExportBenchmarkTest extends MySqlTest {
+
+    // 0..99999 without deep recursion (cte_max_recursion_depth is 1000)
+    private static final String NUMBERS =
+            "WITH RECURSIVE d (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM d WHERE n < 9), " +
+            "nums (n) AS (SELECT a.n + 10 * b.n + 100 * c.n + 1000 * e.n + 10000 * f.n " +
+            "FROM d a, d b, d c, d e, d f) ";
+
+    @MockitoBean
+    private PdfReportService pdfReportService;
+    @MockitoBean
+    private AdmissionRollupService admissionRollupService;
+    @MockitoBean
+    private StudentSearchIndex searchIndex;
+    @MockitoBean
+    private StudentNameIndex nameIndex;
+
+    @Autowired private StudentService studentService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void heapStaysFlatAsTheExportGrows() throws Exception {
+        int[] sizes = {5_000, 20_000, 80_000};
+        long[] deltas = new long[sizes.length];
+        StringBuilder report = new StringBuilder("[StudentXlsxExportBenchmark]");
+        int seeded = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            seed(seeded, sizes[i]);
+            seeded = sizes[i];
+
+            HeapProbe out = new HeapProbe();
+            long heapBefore = liveHeap();
+            long start = System.nanoTime();
+            int rows = studentService.exportStudentsXlsx(out, null, null, null);
+            long ms = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(rows).isEqualTo(sizes[i]);
+            deltas[i] = out.heapAtFirstByte - heapBefore;
+            report.append(String.format("%n  %6d rows: %6d ms, %6d KB, heap +%d MB at write-out",
+                    sizes[i], ms, out.bytes >> 10, deltas[i] >> 20));
+        }
+        System.out.println(report);
+
+        // 16x the rows, the same window of rows in memory
+        assertThat(deltas[2] - deltas[0]).isLessThan(16L * 1024 * 1024);
+    }
+
+    private void seed(int from, int to) {
+        jdbcTemplate.update(
+                "INSERT INTO students (admission_number, full_name, gender, nic_number, grade, al_stream, " +
+                "medium, email, contact_number, address, parent_name, student_type, registration_status) " +
+                NUMBERS +
+                "SELECT CONCAT('X', n), CONCAT('Student Number ', n), IF(n % 2 = 0, 'MALE', 'FEMALE'), " +
+                "CONCAT('2000', LPAD(n, 8, '0')), CAST(6 + n % 8 AS CHAR), 'COMMERCE', 'SINHALA', " +
+                "CONCAT('student', n, '@example.com'), CONCAT('07', 10000000 + n), " +
+                "CONCAT(n, ', Temple Road, Colombo'), CONCAT('Parent of ', n), 'INTERNAL', 'ACTIVE' " +
+                "FROM nums WHERE n >= ? AND n < ?", from, to);
+    }
+
+    /** Discards the workbook, taking a live-heap reading at its first byte. */
+    private static final class HeapProbe extends OutputStream {
+        long heapAtFirstByte;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (bytes == 0 && len > 0) heapAtFirstByte = liveHeap();
+            bytes += len;
+        }
+    }
+
+    private static long liveHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,108 @@
+package com.sims.server.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XlsxRowReaderTest {
+
+    private static final int ROWS = 200_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsEveryRowOfALargeSheetInBoundedMemory() throws Exception {
+        File file = dir.resolve("students.xlsx").toFile();
+        // Text in shared strings, as Excel itself saves it, with two unique strings per row
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, true, true);
+             OutputStream out = Files.newOutputStream(file.toPath())) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            String[] columns = {"admissionNumber", "fullName", "grade", "medium", "phone"};
+            for (int c = 0; c < columns.length; c++) header.createCell(c).setCellValue(columns[c]);
+            for (int r = 1; r <= ROWS; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("A" + r);
+                row.createCell(1).setCellValue("Student Number " + r);
+                row.createCell(2).setCellValue(6 + r % 8);
+                row.createCell(3).setCellValue(r % 2 == 0 ? "SINHALA" : "TAMIL");
+                row.createCell(4).setCellValue(770000000L + r);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+
+        long[] rows = {0};
+        long[] mismatches = {0};
+        long[] heapAtRow = {0};
+        long[] heapAtEnd = {0};
+        long heapBefore = liveHeap();
+        long start = System.nanoTime();
+        XlsxRowReader.read(file, (rowNum, values) -> {
+            rows[0]++;
+            if (rowNum == 1) {
+                assertThat(values).containsExactly("admissionNumber", "fullName", "grade", "medium", "phone");
+            } else {
+                long r = rowNum - 1;
+                if (!values[0].equals("A" + r) || !values[1].equals("Student Number " + r)
+                        || !values[2].equals(String.valueOf(6 + r % 8))
+                        || !values[4].equals(String.valueOf(770000000L + r))) {
+                    mismatches[0]++;
+                }
+            }
+            // Live heap measured mid-read, while the reader holds whatever it retains
+            if (rowNum == 10_000) heapAtRow[0] = liveHeap();
+            if (rowNum == ROWS + 1) heapAtEnd[0] = liveHeap();
+        });
+        double secs = (System.nanoTime() - start) / 1e9; // includes the few GCs above
+        System.out.printf("[XlsxRowReaderTest] %d rows in %.2f s: %.0f rows/s, %d MB held for the shared strings%n",
+                ROWS, secs, ROWS / secs, (heapAtRow[0] - heapBefore) >> 20);
+
+        assertThat(rows[0]).isEqualTo(ROWS + 1);
+        assertThat(mismatches[0]).isZero();
+        // The sheet streams: nothing accumulates per row once the shared strings are loaded
+        assertThat(heapAtEnd[0] - heapAtRow[0]).isLessThan(32L * 1024 * 1024);
+        // The shared strings table (400k unique strings) is held whole; a DOM would be well over 1 GB
+        assertThat(heapAtEnd[0] - heapBefore).isLessThan(128L * 1024 * 1024);
+    }
+
+    @Test
+    void rendersCellTypesLikeTheWorkbookImporter() throws Exception {
+        File file = dir.resolve("types.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(file.toPath())) {
+            Row row = workbook.createSheet().createRow(0);
+            row.createCell(0).setCellValue("  shared  ");
+            row.createCell(1).setCellValue(12.0);
+            row.createCell(2).setCellValue(true);
+            // column 3 left empty
+            row.createCell(4).setCellValue("last");
+            workbook.write(out);
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        XlsxRowReader.read(file, (rowNum, values) -> rows.add(values));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsExactly("shared", "12", "true", "", "last");
+    }
+
+    private static long liveHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}